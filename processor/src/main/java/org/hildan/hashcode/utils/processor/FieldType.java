@@ -0,0 +1,63 @@
+package org.hildan.hashcode.utils.processor;
+
+/**
+ * The types of fields supported in generated readers, with the code used to read each of them.
+ */
+enum FieldType {
+    INT("context.readInt()", "context.getVariableAsInt(%s)", "int", "java.lang.Integer"),
+    LONG("context.readLong()", "context.getVariableAsLong(%s)", "long", "java.lang.Long"),
+    DOUBLE("context.readDouble()", "context.getVariableAsDouble(%s)", "double", "java.lang.Double"),
+    STRING("context.readString()", "context.getVariable(%s)", "java.lang.String");
+
+    private final String readExpression;
+
+    private final String variableExpressionFormat;
+
+    private final String[] typeNames;
+
+    FieldType(String readExpression, String variableExpressionFormat, String... typeNames) {
+        this.readExpression = readExpression;
+        this.variableExpressionFormat = variableExpressionFormat;
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * Gets the {@code FieldType} corresponding to the given type name.
+     *
+     * @param typeName
+     *         the qualified name of the type of a field
+     *
+     * @return the corresponding {@code FieldType}, or null if the given type is not supported
+     */
+    static FieldType of(String typeName) {
+        for (FieldType type : values()) {
+            for (String name : type.typeNames) {
+                if (name.equals(typeName)) {
+                    return type;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets an expression reading a value of this type from a {@code Context} named {@code context}.
+     *
+     * @return a java expression
+     */
+    String getReadExpression() {
+        return readExpression;
+    }
+
+    /**
+     * Gets an expression getting the value of a variable of a {@code Context} named {@code context}, as this type.
+     *
+     * @param slotExpression
+     *         an expression evaluating to the {@code VariableSlot} of the variable
+     *
+     * @return a java expression
+     */
+    String getVariableExpression(String slotExpression) {
+        return String.format(variableExpressionFormat, slotExpression);
+    }
+}
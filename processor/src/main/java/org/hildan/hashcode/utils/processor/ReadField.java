@@ -0,0 +1,45 @@
+package org.hildan.hashcode.utils.processor;
+
+/**
+ * A field to read in a generated reader.
+ */
+class ReadField {
+
+    private final String name;
+
+    private final FieldType type;
+
+    private final String variable;
+
+    /**
+     * Creates a new {@code ReadField}.
+     *
+     * @param name
+     *         the name of the field
+     * @param type
+     *         the type of the field
+     * @param variable
+     *         the name of the context variable to also set, or an empty string for none
+     */
+    ReadField(String name, FieldType type, String variable) {
+        this.name = name;
+        this.type = type;
+        this.variable = variable;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    FieldType getType() {
+        return type;
+    }
+
+    boolean hasVariable() {
+        return !variable.isEmpty();
+    }
+
+    String getVariable() {
+        return variable;
+    }
+}
@@ -0,0 +1,154 @@
+package org.hildan.hashcode.utils.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import org.hildan.hashcode.utils.parser.schema.HCField;
+import org.hildan.hashcode.utils.parser.schema.HCObject;
+
+/**
+ * Generates an {@link org.hildan.hashcode.utils.parser.readers.ObjectReader} for each class annotated with {@link
+ * HCObject}. See {@link HCObject} for the details of the generated readers.
+ */
+@SupportedAnnotationTypes({
+        "org.hildan.hashcode.utils.parser.schema.HCObject", "org.hildan.hashcode.utils.parser.schema.HCField"
+})
+public class ReaderProcessor extends AbstractProcessor {
+
+    /**
+     * The suffix appended to the name of the model class to get the name of the generated reader.
+     */
+    public static final String READER_SUFFIX = "_HCReader";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(HCObject.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@HCObject can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<ReadField> fields = getFields(type);
+            if (fields != null && isInstantiable(type)) {
+                generateReader(type, fields);
+            }
+        }
+        for (Element field : roundEnv.getElementsAnnotatedWith(HCField.class)) {
+            if (field.getEnclosingElement().getAnnotation(HCObject.class) == null) {
+                error(field, "@HCField can only be used in classes annotated with @HCObject");
+            }
+        }
+        return true;
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            error(type, "@HCObject classes must not be abstract or private");
+            return false;
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !modifiers.contains(Modifier.STATIC)) {
+            error(type, "@HCObject classes must be top-level or static nested classes");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "@HCObject classes must have a non-private no-arg constructor");
+        return false;
+    }
+
+    private List<ReadField> getFields(TypeElement type) {
+        List<ReadField> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            HCField annotation = field.getAnnotation(HCField.class);
+            if (annotation == null) {
+                continue;
+            }
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.STATIC)) {
+                error(field, "@HCField fields must not be private, final or static");
+                valid = false;
+                continue;
+            }
+            FieldType fieldType = FieldType.of(getTypeName(field.asType()));
+            if (fieldType == null) {
+                error(field, "@HCField fields must be of type int, long, double, their boxed equivalents, or String");
+                valid = false;
+                continue;
+            }
+            fields.add(new ReadField(field.getSimpleName().toString(), fieldType, annotation.variable()));
+        }
+        return valid ? fields : null;
+    }
+
+    private String getTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        Element element = processingEnv.getTypeUtils().asElement(type);
+        if (element instanceof TypeElement) {
+            return ((TypeElement) element).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private void generateReader(TypeElement type, List<ReadField> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String modelName = type.getQualifiedName().toString();
+        String flatName = getFlatName(type);
+        String readerName = flatName + READER_SUFFIX;
+        String qualifiedReaderName = packageName.isEmpty() ? readerName : packageName + '.' + readerName;
+
+        String source = new ReaderSourceWriter(packageName, readerName, modelName, fields).write();
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedReaderName, type).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            error(type, "Could not generate the reader " + qualifiedReaderName + ": " + e.getMessage());
+        }
+    }
+
+    private static String getFlatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
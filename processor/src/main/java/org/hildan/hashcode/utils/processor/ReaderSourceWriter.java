@@ -0,0 +1,114 @@
+package org.hildan.hashcode.utils.processor;
+
+import java.util.List;
+
+/**
+ * Writes the source code of a generated reader.
+ */
+class ReaderSourceWriter {
+
+    private static final String CONTEXT = "org.hildan.hashcode.utils.parser.context.Context";
+
+    private static final String VARIABLE_SLOT = "org.hildan.hashcode.utils.parser.context.VariableSlot";
+
+    private static final String OBJECT_READER = "org.hildan.hashcode.utils.parser.readers.ObjectReader";
+
+    private final String packageName;
+
+    private final String readerName;
+
+    private final String modelName;
+
+    private final List<ReadField> fields;
+
+    private final StringBuilder out = new StringBuilder();
+
+    /**
+     * Creates a new {@code ReaderSourceWriter}.
+     *
+     * @param packageName
+     *         the package of the generated reader, or an empty string for the unnamed package
+     * @param readerName
+     *         the simple name of the generated reader
+     * @param modelName
+     *         the qualified name of the class read by the generated reader
+     * @param fields
+     *         the fields to read, in order
+     */
+    ReaderSourceWriter(String packageName, String readerName, String modelName, List<ReadField> fields) {
+        this.packageName = packageName;
+        this.readerName = readerName;
+        this.modelName = modelName;
+        this.fields = fields;
+    }
+
+    /**
+     * Writes the source code of the reader.
+     *
+     * @return the source code of the reader
+     */
+    String write() {
+        if (!packageName.isEmpty()) {
+            line("package " + packageName + ";");
+            line("");
+        }
+        line("/**");
+        line(" * Reads {@link " + modelName + "} objects from the input, without reflection.");
+        line(" * <p>");
+        line(" * Generated by " + ReaderProcessor.class.getName() + ", do not edit.");
+        line(" */");
+        line("public final class " + readerName + " implements " + OBJECT_READER + "<" + modelName + "> {");
+        for (int i = 0; i < fields.size(); i++) {
+            ReadField field = fields.get(i);
+            if (field.hasVariable()) {
+                line("");
+                line("    private static final " + VARIABLE_SLOT + " " + slotName(i) + " = " + VARIABLE_SLOT + ".of("
+                        + quote(field.getVariable()) + ");");
+            }
+        }
+        line("");
+        line("    @Override");
+        line("    public " + modelName + " read(" + CONTEXT + " context) {");
+        line("        " + modelName + " obj = new " + modelName + "();");
+        for (int i = 0; i < fields.size(); i++) {
+            writeFieldRead(fields.get(i), i);
+        }
+        line("        return obj;");
+        line("    }");
+        line("}");
+        return out.toString();
+    }
+
+    private void writeFieldRead(ReadField field, int index) {
+        FieldType type = field.getType();
+        if (field.hasVariable()) {
+            String slot = slotName(index);
+            line("        context.readIntoVariable(" + slot + ");");
+            line("        obj." + field.getName() + " = " + type.getVariableExpression(slot) + ";");
+        } else {
+            line("        obj." + field.getName() + " = " + type.getReadExpression() + ";");
+        }
+    }
+
+    private static String slotName(int fieldIndex) {
+        return "VARIABLE_" + fieldIndex;
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private void line(String line) {
+        out.append(line).append('\n');
+    }
+}
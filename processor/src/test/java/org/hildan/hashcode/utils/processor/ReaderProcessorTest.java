@@ -0,0 +1,129 @@
+package org.hildan.hashcode.utils.processor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.hildan.hashcode.utils.parser.HCParser;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReaderProcessorTest {
+
+    private static final String REQUEST_DESC_SOURCE = "package test;\n"
+            + "import org.hildan.hashcode.utils.parser.schema.HCField;\n"
+            + "import org.hildan.hashcode.utils.parser.schema.HCObject;\n"
+            + "@HCObject\n"
+            + "public class RequestDesc {\n"
+            + "    @HCField public int videoId;\n"
+            + "    @HCField(variable = \"E\") public long endpointId;\n"
+            + "    public int notRead = -1;\n"
+            + "    @HCField public Double weight;\n"
+            + "    @HCField String label;\n"
+            + "    public String getLabel() { return label; }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static class StringSource extends SimpleJavaFileObject {
+
+        private final String content;
+
+        StringSource(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private boolean compile(Path outputDir, DiagnosticCollector<JavaFileObject> diagnostics, String className,
+            String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d",
+                    outputDir.toString(), "-s", outputDir.toString());
+            List<StringSource> sources = Collections.singletonList(new StringSource(className, source));
+            CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+            task.setProcessors(Collections.singletonList(new ReaderProcessor()));
+            return task.call();
+        }
+    }
+
+    @Test
+    public void process_generatesReflectionFreeReader() throws Exception {
+        Path outputDir = tempFolder.newFolder().toPath();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, "test.RequestDesc", REQUEST_DESC_SOURCE));
+
+        String generated = new String(Files.readAllBytes(outputDir.resolve("test/RequestDesc_HCReader.java")),
+                "UTF-8");
+        assertFalse(generated.contains("java.lang.reflect") || generated.contains("FieldSetter"));
+
+        URL[] urls = {outputDir.toUri().toURL()};
+        try (URLClassLoader loader = new URLClassLoader(urls, getClass().getClassLoader())) {
+            Class<?> modelClass = loader.loadClass("test.RequestDesc");
+            @SuppressWarnings("unchecked")
+            ObjectReader<Object> reader = (ObjectReader<Object>) loader.loadClass("test.RequestDesc_HCReader")
+                                                                       .newInstance();
+            Object desc = new HCParser<>(reader).parse("3 12 0.5 hello");
+            assertEquals(3, modelClass.getField("videoId").getInt(desc));
+            assertEquals(12L, modelClass.getField("endpointId").getLong(desc));
+            assertEquals(-1, modelClass.getField("notRead").getInt(desc));
+            assertEquals(0.5, modelClass.getField("weight").get(desc));
+            assertEquals("hello", modelClass.getMethod("getLabel").invoke(desc));
+        }
+    }
+
+    @Test
+    public void process_failsOnUnsupportedField() throws Exception {
+        String source = "package test;\n"
+                + "import org.hildan.hashcode.utils.parser.schema.HCField;\n"
+                + "import org.hildan.hashcode.utils.parser.schema.HCObject;\n"
+                + "@HCObject\n"
+                + "public class Invalid {\n"
+                + "    @HCField private int privateField;\n"
+                + "    @HCField public int[] arrayField;\n"
+                + "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(tempFolder.newFolder().toPath(), diagnostics, "test.Invalid", source));
+        assertEquals(2, diagnostics.getDiagnostics().size());
+    }
+
+    @Test
+    public void process_failsOnFieldOutsideHCObject() throws Exception {
+        String source = "package test;\n"
+                + "import org.hildan.hashcode.utils.parser.schema.HCField;\n"
+                + "public class NotAnObject {\n"
+                + "    @HCField public int field;\n"
+                + "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(tempFolder.newFolder().toPath(), diagnostics, "test.NotAnObject", source));
+        assertEquals(1, diagnostics.getDiagnostics().size());
+    }
+}
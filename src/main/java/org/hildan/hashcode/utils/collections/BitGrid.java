@@ -0,0 +1,141 @@
+package org.hildan.hashcode.utils.collections;
+
+/**
+ * A 2D grid of booleans, packed into a bitset.
+ * <p>
+ * The cell at ({@code row}, {@code column}) is the bit {@code row * getColumns() + column} of the bitset, bit {@code i}
+ * being the bit {@code i % 64} of the word {@code i / 64} of {@link #getWords()}. A grid of 10k x 10k cells therefore
+ * takes about 12MB. This is typically used for binary grids, like walls ('#') and free cells ('.').
+ */
+public final class BitGrid {
+
+    private final int rows;
+
+    private final int columns;
+
+    private final long[] words;
+
+    /**
+     * Creates a new {@code BitGrid} of the given dimensions, with all cells unset.
+     *
+     * @param rows
+     *         the number of rows of the grid
+     * @param columns
+     *         the number of columns of the grid
+     */
+    public BitGrid(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("The grid dimensions cannot be negative: " + rows + "x" + columns);
+        }
+        long nbBits = (long) rows * columns;
+        if (nbBits > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The grid is too big to be indexed by ints: " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.words = new long[(int) ((nbBits + 63) >>> 6)];
+    }
+
+    /**
+     * Gets the number of rows of this grid.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns of this grid.
+     *
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the words backing this grid, for algorithms that work on raw bits. Changes to the returned array are
+     * reflected in this grid.
+     *
+     * @return the bits of this grid, row by row
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Gets whether the given cell is set.
+     *
+     * @param row
+     *         the row of the cell
+     * @param column
+     *         the column of the cell
+     *
+     * @return true if the cell is set
+     * @throws IndexOutOfBoundsException
+     *         if the cell is outside of this grid
+     */
+    public boolean get(int row, int column) {
+        int bit = index(row, column);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Sets or clears the given cell.
+     *
+     * @param row
+     *         the row of the cell
+     * @param column
+     *         the column of the cell
+     * @param value
+     *         true to set the cell, false to clear it
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the cell is outside of this grid
+     */
+    public void set(int row, int column, boolean value) {
+        int bit = index(row, column);
+        if (value) {
+            words[bit >>> 6] |= 1L << bit;
+        } else {
+            words[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    /**
+     * Counts the cells of this grid that are set.
+     *
+     * @return the number of set cells
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside of the grid (" + rows + " rows)");
+        }
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException(
+                    "Column " + column + " is outside of the grid (" + columns + " columns)");
+        }
+        return row * columns + column;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(rows * (columns + 1));
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                sb.append(get(row, col) ? '#' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
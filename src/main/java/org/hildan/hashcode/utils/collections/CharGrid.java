@@ -0,0 +1,168 @@
+package org.hildan.hashcode.utils.collections;
+
+/**
+ * A 2D grid of single-byte characters, packed row by row into a single {@code byte[]}.
+ * <p>
+ * The cell at ({@code row}, {@code column}) is stored at index {@code row * getStride() + column} of {@link
+ * #getCells()}. A grid of 10k x 10k cells therefore takes about 100MB, instead of one {@link String} per row. The
+ * characters are expected to be ASCII, as is the case of the grids of HashCode problems.
+ */
+public final class CharGrid {
+
+    private final int rows;
+
+    private final int columns;
+
+    private final byte[] cells;
+
+    /**
+     * Creates a new {@code CharGrid} of the given dimensions, filled with the character 0.
+     *
+     * @param rows
+     *         the number of rows of the grid
+     * @param columns
+     *         the number of columns of the grid
+     */
+    public CharGrid(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("The grid dimensions cannot be negative: " + rows + "x" + columns);
+        }
+        if ((long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The grid is too big to fit in an array: " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = new byte[rows * columns];
+    }
+
+    /**
+     * Gets the number of rows of this grid.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns of this grid.
+     *
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the distance between the starts of 2 consecutive rows in {@link #getCells()}.
+     *
+     * @return the row stride
+     */
+    public int getStride() {
+        return columns;
+    }
+
+    /**
+     * Gets the array backing this grid, for algorithms that work on raw indices. Changes to the returned array are
+     * reflected in this grid.
+     *
+     * @return the cells of this grid, row by row
+     */
+    public byte[] getCells() {
+        return cells;
+    }
+
+    /**
+     * Gets the character of the given cell.
+     *
+     * @param row
+     *         the row of the cell
+     * @param column
+     *         the column of the cell
+     *
+     * @return the character of the cell
+     * @throws IndexOutOfBoundsException
+     *         if the cell is outside of this grid
+     */
+    public char get(int row, int column) {
+        return (char) (cells[index(row, column)] & 0xFF);
+    }
+
+    /**
+     * Sets the character of the given cell.
+     *
+     * @param row
+     *         the row of the cell
+     * @param column
+     *         the column of the cell
+     * @param value
+     *         the new character of the cell
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the cell is outside of this grid
+     */
+    public void set(int row, int column, char value) {
+        cells[index(row, column)] = (byte) value;
+    }
+
+    /**
+     * Counts the cells of this grid that contain the given character.
+     *
+     * @param value
+     *         the character to count
+     *
+     * @return the number of cells containing the given character
+     */
+    public int count(char value) {
+        byte b = (byte) value;
+        int count = 0;
+        for (byte cell : cells) {
+            if (cell == b) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a string from the characters of the given row.
+     *
+     * @param row
+     *         the row to convert
+     *
+     * @return the content of the row
+     */
+    public String rowToString(int row) {
+        checkRow(row);
+        char[] chars = new char[columns];
+        int start = row * columns;
+        for (int col = 0; col < columns; col++) {
+            chars[col] = (char) (cells[start + col] & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    private int index(int row, int column) {
+        checkRow(row);
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException(
+                    "Column " + column + " is outside of the grid (" + columns + " columns)");
+        }
+        return row * columns + column;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside of the grid (" + rows + " rows)");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(rows * (columns + 1));
+        for (int row = 0; row < rows; row++) {
+            sb.append(rowToString(row)).append('\n');
+        }
+        return sb.toString();
+    }
+}
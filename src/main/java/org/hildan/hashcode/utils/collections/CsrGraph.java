@@ -0,0 +1,167 @@
+package org.hildan.hashcode.utils.collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A directed graph stored in compressed sparse row (CSR) format.
+ * <p>
+ * The edges going out of node {@code n} are the edges {@code e} such that {@code getOffsets()[n] <= e <
+ * getOffsets()[n + 1]}. The target node of edge {@code e} is {@code getTargets()[e]}, and its weight, if the graph is
+ * weighted, is {@code getWeights()[e]}. The edges of a node are therefore contiguous in memory, which makes the
+ * traversal of the graph much faster than following references between node objects.
+ */
+public final class CsrGraph {
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final int[] weights;
+
+    /**
+     * Creates a new {@code CsrGraph} from the given arrays, without copying them.
+     *
+     * @param offsets
+     *         the index of the first edge of each node, followed by the total number of edges
+     * @param targets
+     *         the target node of each edge
+     * @param weights
+     *         the weight of each edge, or null if the graph is not weighted
+     */
+    public CsrGraph(@NotNull int[] offsets, @NotNull int[] targets, @Nullable int[] weights) {
+        if (offsets.length == 0 || offsets[offsets.length - 1] != targets.length) {
+            throw new IllegalArgumentException("The last offset must be the number of edges: " + targets.length);
+        }
+        if (weights != null && weights.length != targets.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + targets.length + " weights, one for each edge, got " + weights.length);
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Gets the number of nodes of this graph.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the number of edges of this graph.
+     *
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets whether the edges of this graph have weights.
+     *
+     * @return true if this graph is weighted
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Gets the number of edges going out of the given node.
+     *
+     * @param node
+     *         the node to get the degree of
+     *
+     * @return the out-degree of the node
+     */
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Gets the index of the first edge going out of the given node.
+     *
+     * @param node
+     *         the source node of the edges
+     *
+     * @return the index of the first edge of the node
+     */
+    public int edgesStart(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Gets the index following the last edge going out of the given node.
+     *
+     * @param node
+     *         the source node of the edges
+     *
+     * @return the index following the last edge of the node (exclusive)
+     */
+    public int edgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Gets the target node of the given edge.
+     *
+     * @param edge
+     *         the index of the edge
+     *
+     * @return the target node of the edge
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Gets the weight of the given edge.
+     *
+     * @param edge
+     *         the index of the edge
+     *
+     * @return the weight of the edge
+     * @throws IllegalStateException
+     *         if this graph is not weighted
+     */
+    public int weight(int edge) {
+        if (weights == null) {
+            throw new IllegalStateException("This graph is not weighted");
+        }
+        return weights[edge];
+    }
+
+    /**
+     * Gets the index of the first edge of each node, followed by the total number of edges. Changes to the returned
+     * array are reflected in this graph.
+     *
+     * @return the offsets array of this graph
+     */
+    @NotNull
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the target node of each edge. Changes to the returned array are reflected in this graph.
+     *
+     * @return the targets array of this graph
+     */
+    @NotNull
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the weight of each edge. Changes to the returned array are reflected in this graph.
+     *
+     * @return the weights array of this graph, or null if this graph is not weighted
+     */
+    @Nullable
+    public int[] getWeights() {
+        return weights;
+    }
+}
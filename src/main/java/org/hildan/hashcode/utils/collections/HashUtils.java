@@ -0,0 +1,43 @@
+package org.hildan.hashcode.utils.collections;
+
+/**
+ * Helpers shared by the open-addressing hash tables of this package.
+ */
+final class HashUtils {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private HashUtils() {
+    }
+
+    /**
+     * Scrambles the bits of the given key, so that consecutive keys do not end up in clusters of adjacent slots.
+     *
+     * @param key
+     *         the key to hash
+     *
+     * @return the mixed hash of the key
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Computes the power-of-2 capacity of a table able to contain the given number of entries.
+     *
+     * @param expectedSize
+     *         the number of entries the table is expected to contain
+     * @param loadFactor
+     *         the maximum ratio of used slots in the table
+     *
+     * @return the capacity of the table
+     */
+    static int tableSize(int expectedSize, float loadFactor) {
+        long minCapacity = Math.max(2, (long) Math.ceil(expectedSize / loadFactor));
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many entries for a hash table: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) minCapacity - 1) << 1;
+    }
+}
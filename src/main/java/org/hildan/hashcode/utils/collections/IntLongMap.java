@@ -0,0 +1,263 @@
+package org.hildan.hashcode.utils.collections;
+
+/**
+ * A map from ints to longs, without boxing the keys and values.
+ * <p>
+ * The entries are stored in flat arrays using open addressing with linear probing, so that lookups do not follow any
+ * pointer. Removal is not supported, which is fine for maps that are built once from the input and then only read.
+ */
+public final class IntLongMap {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * The key marking an empty slot. The actual entry with this key, if any, is stored separately.
+     */
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+
+    private long[] values;
+
+    private int mask;
+
+    private int size;
+
+    private boolean hasFreeKey;
+
+    private long freeKeyValue;
+
+    /**
+     * Creates a new empty {@code IntLongMap} with a default capacity.
+     */
+    public IntLongMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates a new empty {@code IntLongMap} able to contain the given number of entries without rehashing.
+     *
+     * @param expectedSize
+     *         the number of entries that this map is expected to contain
+     */
+    public IntLongMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative: " + expectedSize);
+        }
+        allocate(HashUtils.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets the number of entries in this map.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets whether this map is empty.
+     *
+     * @return true if this map contains no entry
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets whether this map contains an entry for the given key.
+     *
+     * @param key
+     *         the key to look for
+     *
+     * @return true if this map contains the given key
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return keys[slotOf(key)] == key;
+    }
+
+    /**
+     * Gets the value associated to the given key.
+     *
+     * @param key
+     *         the key to look for
+     *
+     * @return the value associated to the given key
+     * @throws IllegalArgumentException
+     *         if this map does not contain the given key
+     */
+    public long get(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                throw new IllegalArgumentException("No value for key " + key);
+            }
+            return freeKeyValue;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] != key) {
+            throw new IllegalArgumentException("No value for key " + key);
+        }
+        return values[slot];
+    }
+
+    /**
+     * Gets the value associated to the given key, or the given default value if there is none.
+     *
+     * @param key
+     *         the key to look for
+     * @param defaultValue
+     *         the value to return if this map does not contain the given key
+     *
+     * @return the value associated to the given key, or {@code defaultValue}
+     */
+    public long getOrDefault(int key, long defaultValue) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Associates the given value to the given key, replacing the previous value if any.
+     *
+     * @param key
+     *         the key of the entry
+     * @param value
+     *         the value of the entry
+     */
+    public void put(int key, long value) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Calls the given action for each entry of this map, in no particular order.
+     *
+     * @param action
+     *         the action to call with the key and value of each entry
+     */
+    public void forEach(IntLongConsumer action) {
+        if (hasFreeKey) {
+            action.accept(FREE_KEY, freeKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot containing the given key, or the free slot where it should be inserted.
+     */
+    private int slotOf(int key) {
+        int slot = HashUtils.mix(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * An action on an entry of an {@link IntLongMap}.
+     */
+    @FunctionalInterface
+    public interface IntLongConsumer {
+
+        /**
+         * Performs this action on the given entry.
+         *
+         * @param key
+         *         the key of the entry
+         * @param value
+         *         the value of the entry
+         */
+        void accept(int key, long value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IntLongMap other = (IntLongMap) o;
+        if (size != other.size || hasFreeKey != other.hasFreeKey
+                || (hasFreeKey && freeKeyValue != other.freeKeyValue)) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            if (key != FREE_KEY && (!other.containsKey(key) || other.get(key) != values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = hasFreeKey ? Long.hashCode(freeKeyValue) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                hash += keys[i] ^ Long.hashCode(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,171 @@
+package org.hildan.hashcode.utils.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * A growable list of longs, backed by an {@code long[]}, without boxing the elements.
+ */
+public final class LongList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] elements;
+
+    private int size;
+
+    /**
+     * Creates a new empty {@code LongList} with a default capacity.
+     */
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty {@code LongList} with the given initial capacity.
+     *
+     * @param initialCapacity
+     *         the number of elements this list can contain before growing
+     */
+    public LongList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative: " + initialCapacity);
+        }
+        this.elements = new long[initialCapacity];
+    }
+
+    /**
+     * Gets the number of elements in this list.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets whether this list is empty.
+     *
+     * @return true if this list contains no element
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the given element at the end of this list.
+     *
+     * @param value
+     *         the element to add
+     */
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Gets the element at the given index.
+     *
+     * @param index
+     *         the index of the element
+     *
+     * @return the element at the given index
+     * @throws IndexOutOfBoundsException
+     *         if the index is out of range
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the element at the given index.
+     *
+     * @param index
+     *         the index of the element
+     * @param value
+     *         the new value of the element
+     *
+     * @return the previous value of the element
+     * @throws IndexOutOfBoundsException
+     *         if the index is out of range
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Removes all elements from this list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Calls the given action for each element of this list, in order.
+     *
+     * @param action
+     *         the action to call
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * Creates a stream of the elements of this list.
+     *
+     * @return a new stream of the elements
+     */
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    /**
+     * Copies the elements of this list into a new array.
+     *
+     * @return a new array containing the elements of this list
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LongList other = (LongList) o;
+        return size == other.size && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(elements[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
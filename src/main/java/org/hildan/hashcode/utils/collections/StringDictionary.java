@@ -0,0 +1,203 @@
+package org.hildan.hashcode.utils.collections;
+
+import java.util.Arrays;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A dictionary that assigns a dense int id to each distinct string added to it, in the order they are first added.
+ * The ids go from 0 to {@code size() - 1}, and the strings can be retrieved from their id using {@link #get(int)} or
+ * {@link #toArray()}.
+ * <p>
+ * The ids can be looked up from any {@link CharSequence}, without creating a string, so that repeated tokens of the
+ * input only allocate memory the first time they are seen. A {@code StringDictionary} is not thread-safe.
+ */
+public final class StringDictionary {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private static final int NO_ID = -1;
+
+    private String[] tokens;
+
+    private int[] tokenHashes;
+
+    private int size;
+
+    /**
+     * The id of the token in each slot of the hash table, plus one, so that 0 marks an empty slot.
+     */
+    private int[] slots;
+
+    private int mask;
+
+    /**
+     * Creates a new empty {@code StringDictionary} with a default capacity.
+     */
+    public StringDictionary() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates a new empty {@code StringDictionary} able to contain the given number of strings without rehashing.
+     *
+     * @param expectedSize
+     *         the number of distinct strings that this dictionary is expected to contain
+     */
+    public StringDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative: " + expectedSize);
+        }
+        int capacity = HashUtils.tableSize(expectedSize, LOAD_FACTOR);
+        this.tokens = new String[Math.max(expectedSize, DEFAULT_EXPECTED_SIZE)];
+        this.tokenHashes = new int[tokens.length];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets the number of distinct strings in this dictionary.
+     *
+     * @return the number of strings, which is also the next id to be assigned
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the string with the given id.
+     *
+     * @param id
+     *         the id of the string
+     *
+     * @return the string with the given id
+     * @throws IndexOutOfBoundsException
+     *         if no string has the given id
+     */
+    @NotNull
+    public String get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No string with id " + id + " (size " + size + ")");
+        }
+        return tokens[id];
+    }
+
+    /**
+     * Gets the id of the given string.
+     *
+     * @param token
+     *         the string to look for
+     *
+     * @return the id of the string, or -1 if it is not in this dictionary
+     */
+    public int idOf(@NotNull CharSequence token) {
+        return find(token, 0, token.length());
+    }
+
+    /**
+     * Gets the id of the string made of the given range of characters, without creating a string.
+     *
+     * @param chars
+     *         the characters containing the string to look for
+     * @param start
+     *         the start index of the string, inclusive
+     * @param end
+     *         the end index of the string, exclusive
+     *
+     * @return the id of the string, or -1 if it is not in this dictionary
+     */
+    public int find(@NotNull CharSequence chars, int start, int end) {
+        int hash = hash(chars, start, end);
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (tokenHashes[id] == hash && contentEquals(tokens[id], chars, start, end)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_ID;
+    }
+
+    /**
+     * Adds the given string to this dictionary, if it is not already present.
+     *
+     * @param token
+     *         the string to add
+     *
+     * @return the id of the string, which is a new id only if the string was not already present
+     */
+    public int add(@NotNull String token) {
+        int hash = hash(token, 0, token.length());
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (tokenHashes[id] == hash && tokens[id].equals(token)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == tokens.length) {
+            int newLength = size + (size >> 1);
+            tokens = Arrays.copyOf(tokens, newLength);
+            tokenHashes = Arrays.copyOf(tokenHashes, newLength);
+        }
+        int id = size++;
+        tokens[id] = token;
+        tokenHashes[id] = hash;
+        slots[slot] = id + 1;
+        if (size > slots.length * LOAD_FACTOR) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Copies the strings of this dictionary into a new array, indexed by id.
+     *
+     * @return a new array containing the string of each id
+     */
+    @NotNull
+    public String[] toArray() {
+        return Arrays.copyOf(tokens, size);
+    }
+
+    private void rehash(int newCapacity) {
+        slots = new int[newCapacity];
+        mask = newCapacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = tokenHashes[id] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int hash(CharSequence chars, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return HashUtils.mix(h);
+    }
+
+    private static boolean contentEquals(String token, CharSequence chars, int start, int end) {
+        if (token.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -1,14 +1,23 @@
 package org.hildan.hashcode.utils.parser;
 
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 
 import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.config.Separator;
+import org.hildan.hashcode.utils.parser.context.ByteBufferLineNumberScanner;
 import org.hildan.hashcode.utils.parser.context.Context;
 import org.hildan.hashcode.utils.parser.readers.ChildReader;
 import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.hildan.hashcode.utils.parser.readers.ReaderCompiler;
 import org.intellij.lang.annotations.RegExp;
 import org.jetbrains.annotations.NotNull;
 
@@ -44,8 +53,19 @@ public class HCParser<T> {
      *         the separator between elements within an input line
      */
     public HCParser(@NotNull ObjectReader<T> rootReader, @RegExp String separator) {
-        config = new Config(separator);
-        this.rootReader = rootReader;
+        this(rootReader, new Config(separator));
+    }
+
+    /**
+     * Creates a new {@code HCParser} using the given separator.
+     *
+     * @param rootReader
+     *         the reader to use to read the input into an object
+     * @param separator
+     *         the separator between elements within an input line
+     */
+    public HCParser(@NotNull ObjectReader<T> rootReader, @NotNull Separator separator) {
+        this(rootReader, new Config(separator));
     }
 
     /**
@@ -54,15 +74,21 @@ public class HCParser<T> {
      * @param rootReader
      *         the reader to use to read the input into an object
      * @param config
-     *         the configuration defining this parser's behaviour
+     *         the configuration defining this parser's behaviour. If {@link Config#isCompiledReaders()} is true, the
+     *         given root reader is compiled once here.
      */
     public HCParser(@NotNull ObjectReader<T> rootReader, Config config) {
         this.config = config;
-        this.rootReader = rootReader;
+        this.rootReader = config.isCompiledReaders() ? ReaderCompiler.compile(rootReader) : rootReader;
     }
 
     /**
      * Parses the given file to create an instance of T.
+     * <p>
+     * The file is expected to be encoded in UTF-8 (or ASCII), whatever the default charset of the platform. It is
+     * memory-mapped and tokenized directly from its bytes, unless the separator could split multi-byte characters
+     * (see {@link ByteBufferLineNumberScanner#supports(Separator)}) or the file is too big to be mapped in a single
+     * buffer, in which case it is decoded as UTF-8 through a {@link Reader}.
      *
      * @param filename
      *         the path to the file to parse
@@ -70,9 +96,34 @@ public class HCParser<T> {
      * @return the created object representing the input problem
      * @throws FileNotFoundException
      *         if the given file does not exist
+     * @throws InputParsingException
+     *         if an error occurs while mapping or reading the file
      */
     public T parseFile(String filename) throws FileNotFoundException {
-        return parse(new FileReader(filename));
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r")) {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || !ByteBufferLineNumberScanner.supports(config.getSeparatorMode())) {
+                return parse(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8));
+            }
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InputParsingException("An error occurred while mapping the input file '" + filename + "'", e);
+        }
+    }
+
+    /**
+     * Creates an instance of T by reading the input from the bytes of the given buffer.
+     *
+     * @param input
+     *         the buffer containing the input to parse, from its position to its limit
+     *
+     * @return the created object representing the input problem
+     */
+    public T parse(ByteBuffer input) {
+        return parse(new Context(input, config));
     }
 
     /**
@@ -108,7 +159,13 @@ public class HCParser<T> {
      * @return the created object representing the input problem
      */
     public T parse(Context context) {
-        T result = rootReader.read(context);
+        T result;
+        try {
+            result = rootReader.read(context);
+        } catch (RuntimeException | Error e) {
+            context.abortReader();
+            throw e;
+        }
         context.closeReader();
         return result;
     }
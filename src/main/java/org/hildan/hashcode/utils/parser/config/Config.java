@@ -1,6 +1,7 @@
 package org.hildan.hashcode.utils.parser.config;
 
 import org.intellij.lang.annotations.RegExp;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Encapsulates the configuration that defines the readers' behaviour.
@@ -10,14 +11,19 @@ public class Config {
     @RegExp
     private static final String DEFAULT_SEPARATOR = "\\s";
 
-    @RegExp
-    private final String separator;
+    private final Separator separator;
+
+    private final boolean compiledReaders;
+
+    private final boolean readAhead;
+
+    private final TrailingInputCheck trailingInputCheck;
 
     /**
      * Creates a new config with the default separator {@value #DEFAULT_SEPARATOR}.
      */
     public Config() {
-        this.separator = DEFAULT_SEPARATOR;
+        this(Separator.whitespace());
     }
 
     /**
@@ -27,7 +33,77 @@ public class Config {
      *         the separator between elements in an input line
      */
     public Config(@RegExp String separator) {
+        this(Separator.regex(separator));
+    }
+
+    /**
+     * Creates a new config with the given separator.
+     *
+     * @param separator
+     *         the separator between elements in an input line
+     */
+    public Config(@NotNull Separator separator) {
+        this(separator, false, false, TrailingInputCheck.EXACT_COUNT);
+    }
+
+    private Config(@NotNull Separator separator, boolean compiledReaders, boolean readAhead,
+            @NotNull TrailingInputCheck trailingInputCheck) {
         this.separator = separator;
+        this.compiledReaders = compiledReaders;
+        this.readAhead = readAhead;
+        this.trailingInputCheck = trailingInputCheck;
+    }
+
+    /**
+     * Creates a copy of this config, with the compilation of readers enabled or disabled.
+     * <p>
+     * When enabled, the parser compiles its root reader once into a flat parse plan (see {@link
+     * org.hildan.hashcode.utils.parser.readers.ReaderCompiler}) instead of going through the nested chain of readers
+     * for each object. The parsed objects are the same in both cases.
+     *
+     * @param compiledReaders
+     *         true to compile the readers, false to use them as they are
+     *
+     * @return a new config with the given setting
+     */
+    @NotNull
+    public Config withCompiledReaders(boolean compiledReaders) {
+        return new Config(separator, compiledReaders, readAhead, trailingInputCheck);
+    }
+
+    /**
+     * Creates a copy of this config, with the read-ahead of {@link java.io.Reader} inputs enabled or disabled.
+     * <p>
+     * When enabled, the input reader is read on a background thread into double-buffered blocks, so that the I/O and
+     * decoding of the input overlap with the parsing. This is useful for slow sources, like network-mounted files or
+     * compressed inputs. It has no effect on inputs given as a {@link java.nio.ByteBuffer}, like the memory-mapped
+     * files of {@link org.hildan.hashcode.utils.parser.HCParser#parseFile(String)}.
+     *
+     * @param readAhead
+     *         true to read the input ahead on a background thread, false to read it on the parsing thread
+     *
+     * @return a new config with the given setting
+     */
+    @NotNull
+    public Config withReadAhead(boolean readAhead) {
+        return new Config(separator, compiledReaders, readAhead, trailingInputCheck);
+    }
+
+    /**
+     * Creates a copy of this config, with the given check of the input left unread at the end of the parsing.
+     * <p>
+     * The default, {@link TrailingInputCheck#EXACT_COUNT}, reads the whole remaining input to report the number of
+     * unread lines. When only a prefix of a big input is parsed on purpose, {@link TrailingInputCheck#CHEAP} stops at
+     * the first remaining non-whitespace character, and {@link TrailingInputCheck#OFF} does not read anything.
+     *
+     * @param trailingInputCheck
+     *         the check to perform on the remaining input
+     *
+     * @return a new config with the given setting
+     */
+    @NotNull
+    public Config withTrailingInputCheck(@NotNull TrailingInputCheck trailingInputCheck) {
+        return new Config(separator, compiledReaders, readAhead, trailingInputCheck);
     }
 
     /**
@@ -38,6 +114,44 @@ public class Config {
      */
     @RegExp
     public String getSeparator() {
+        return separator.toRegex();
+    }
+
+    /**
+     * Gets the separator between values within a single line of the input, as used by the parser.
+     *
+     * @return the separator between values
+     */
+    @NotNull
+    public Separator getSeparatorMode() {
         return separator;
     }
+
+    /**
+     * Gets whether the parser should compile its readers into a flat parse plan.
+     *
+     * @return true if the readers should be compiled
+     */
+    public boolean isCompiledReaders() {
+        return compiledReaders;
+    }
+
+    /**
+     * Gets whether {@link java.io.Reader} inputs should be read ahead on a background thread.
+     *
+     * @return true if the input should be read ahead
+     */
+    public boolean isReadAhead() {
+        return readAhead;
+    }
+
+    /**
+     * Gets how the input left unread at the end of the parsing is checked.
+     *
+     * @return the check to perform on the remaining input
+     */
+    @NotNull
+    public TrailingInputCheck getTrailingInputCheck() {
+        return trailingInputCheck;
+    }
 }
@@ -0,0 +1,183 @@
+package org.hildan.hashcode.utils.parser.config;
+
+import java.util.regex.Pattern;
+
+import org.intellij.lang.annotations.RegExp;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Describes how the tokens of an input line are separated from each other.
+ * <p>
+ * Apart from the {@link #regex(String)} separator, all separators are handled without regular expressions, with a
+ * simple loop over the characters of the line.
+ */
+public final class Separator {
+
+    /**
+     * The different kinds of separators.
+     */
+    public enum Type {
+        /**
+         * A single literal character separates tokens. Consecutive separators delimit empty tokens.
+         */
+        CHAR,
+        /**
+         * Any single ASCII whitespace character separates tokens. Consecutive whitespace characters delimit empty
+         * tokens, exactly like a split on the regex {@code \s}.
+         */
+        WHITESPACE,
+        /**
+         * Runs of ASCII whitespace characters separate tokens. Empty tokens are never produced, and leading or
+         * trailing whitespace is ignored.
+         */
+        WHITESPACE_RUNS,
+        /**
+         * A regular expression separates tokens, with the semantics of {@link String#split(String, int)} with a
+         * negative limit.
+         */
+        REGEX
+    }
+
+    private static final String REGEX_META_CHARS = ".$|()[]{}^?*+\\";
+
+    private static final Separator WHITESPACE = new Separator(Type.WHITESPACE, ' ', "\\s");
+
+    private static final Separator WHITESPACE_RUNS = new Separator(Type.WHITESPACE_RUNS, ' ', "\\s+");
+
+    private final Type type;
+
+    private final char character;
+
+    @RegExp
+    private final String regex;
+
+    private final Pattern pattern;
+
+    private Separator(Type type, char character, @RegExp String regex) {
+        this(type, character, regex, null);
+    }
+
+    private Separator(Type type, char character, @RegExp String regex, Pattern pattern) {
+        this.type = type;
+        this.character = character;
+        this.regex = regex;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Gets a separator where each occurrence of the given character separates 2 tokens.
+     *
+     * @param c
+     *         the separator character
+     *
+     * @return a separator for the given character
+     */
+    @NotNull
+    public static Separator literal(char c) {
+        return new Separator(Type.CHAR, c, Pattern.quote(String.valueOf(c)));
+    }
+
+    /**
+     * Gets a separator where each ASCII whitespace character separates 2 tokens. This is equivalent to the regex
+     * {@code \s}, and is the default separator.
+     *
+     * @return the whitespace separator
+     */
+    @NotNull
+    public static Separator whitespace() {
+        return WHITESPACE;
+    }
+
+    /**
+     * Gets a separator where runs of consecutive ASCII whitespace characters are collapsed into a single separator.
+     * Leading and trailing whitespace on a line is ignored.
+     *
+     * @return the collapsed whitespace separator
+     */
+    @NotNull
+    public static Separator whitespaceRuns() {
+        return WHITESPACE_RUNS;
+    }
+
+    /**
+     * Gets a separator defined by a regular expression. If the given regular expression is simple enough to be
+     * handled without regex matching (a single literal character or {@code \s}), then the corresponding faster
+     * separator is returned instead.
+     *
+     * @param regex
+     *         the separator as a regular expression
+     *
+     * @return a separator equivalent to the given regular expression
+     */
+    @NotNull
+    public static Separator regex(@RegExp String regex) {
+        if (WHITESPACE.regex.equals(regex)) {
+            return WHITESPACE;
+        }
+        Character c = asLiteralChar(regex);
+        if (c != null) {
+            return new Separator(Type.CHAR, c, regex);
+        }
+        return new Separator(Type.REGEX, ' ', regex, Pattern.compile(regex));
+    }
+
+    @Nullable
+    private static Character asLiteralChar(String regex) {
+        if (regex.length() == 1 && REGEX_META_CHARS.indexOf(regex.charAt(0)) < 0) {
+            return regex.charAt(0);
+        }
+        if (regex.length() == 2 && regex.charAt(0) == '\\' && REGEX_META_CHARS.indexOf(regex.charAt(1)) >= 0) {
+            return regex.charAt(1);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the type of this separator.
+     *
+     * @return the type of this separator
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the separator character, for a separator of type {@link Type#CHAR}.
+     *
+     * @return the separator character
+     */
+    public char getChar() {
+        return character;
+    }
+
+    /**
+     * Gets the compiled pattern of this separator, for a separator of type {@link Type#REGEX}.
+     *
+     * @return the compiled pattern, or null if this separator is not a regex
+     */
+    @Nullable
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets a regular expression matching this separator.
+     * <p>
+     * Note that for {@link Type#WHITESPACE_RUNS}, splitting a line with leading whitespace using {@link
+     * String#split(String)} yields an empty first token, which this separator does not produce.
+     *
+     * @return this separator as a regular expression
+     */
+    @RegExp
+    @NotNull
+    public String toRegex() {
+        return regex;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + regex + ")";
+    }
+}
@@ -0,0 +1,21 @@
+package org.hildan.hashcode.utils.parser.config;
+
+/**
+ * Defines how the input left unread at the end of the parsing is checked.
+ */
+public enum TrailingInputCheck {
+    /**
+     * The remaining input is ignored, and not even read.
+     */
+    OFF,
+    /**
+     * The remaining input is read until its first non-whitespace character, and an exception is thrown if there is
+     * one. The number of remaining lines is not reported.
+     */
+    CHEAP,
+    /**
+     * The whole remaining input is read, and an exception reporting the number of remaining non-blank lines is thrown
+     * if there are some.
+     */
+    EXACT_COUNT
+}
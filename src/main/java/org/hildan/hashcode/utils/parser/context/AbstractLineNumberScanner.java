@@ -0,0 +1,1037 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hildan.hashcode.utils.collections.StringDictionary;
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Separator;
+import org.hildan.hashcode.utils.parser.config.TrailingInputCheck;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A scanner that is aware of the line numbers and throws exceptions that contain this useful piece of information.
+ * <p>
+ * This base class splits each line into tokens directly within the buffer of the underlying implementation, and only
+ * creates strings when they are explicitly requested. Implementations only have to provide access to the characters
+ * of the current line, and a way to move on to the next line.
+ */
+public abstract class AbstractLineNumberScanner implements Closeable, AutoCloseable {
+
+    private static final int INITIAL_TOKENS_CAPACITY = 16;
+
+    private static final int MAX_SIMPLE_LONG_DIGITS = 18;
+
+    static final long NOT_A_SIMPLE_LONG = Long.MIN_VALUE;
+
+    private final Separator separator;
+
+    private final CurrentLineSequence currentLineSequence;
+
+    private int lineNumber;
+
+    private boolean hasCurrentLine;
+
+    private String currentLineRaw;
+
+    /**
+     * Start index (inclusive) of the current line in the underlying buffer.
+     */
+    protected int lineStart;
+
+    /**
+     * End index (exclusive) of the current line in the underlying buffer.
+     */
+    protected int lineEnd;
+
+    private int[] tokenStarts;
+
+    private int[] tokenEnds;
+
+    private int tokenCount;
+
+    private int nextTokenIndex;
+
+    /**
+     * The number of tokens seen by the current streaming pass over the current line.
+     */
+    private int streamedTokenCount;
+
+    private final TokenHandler tokenRecorder = this::addToken;
+
+    private final TokenHandler tokenCounter = (start, end) -> streamedTokenCount++;
+
+    private LineView lineView;
+
+    /**
+     * Creates a new {@code AbstractLineNumberScanner} splitting lines using the given separator.
+     *
+     * @param separator
+     *         the separator to use to identify separate tokens
+     */
+    protected AbstractLineNumberScanner(Separator separator) {
+        this(separator, 0);
+    }
+
+    /**
+     * Creates a new {@code AbstractLineNumberScanner} splitting lines using the given separator, for an input starting
+     * in the middle of a bigger input.
+     *
+     * @param separator
+     *         the separator to use to identify separate tokens
+     * @param lineNumberOffset
+     *         the number of lines preceding this scanner's input in the bigger input, so that line numbers are
+     *         reported relative to the bigger input
+     */
+    protected AbstractLineNumberScanner(Separator separator, int lineNumberOffset) {
+        this.separator = separator;
+        this.lineNumber = lineNumberOffset;
+        this.currentLineSequence = new CurrentLineSequence();
+        this.tokenStarts = new int[INITIAL_TOKENS_CAPACITY];
+        this.tokenEnds = new int[INITIAL_TOKENS_CAPACITY];
+    }
+
+    /**
+     * Gets the separator used by this scanner to identify separate tokens.
+     *
+     * @return the separator of this scanner
+     */
+    protected final Separator getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Gets the character at the given index of the underlying buffer.
+     *
+     * @param index
+     *         an index between {@link #lineStart} (inclusive) and {@link #lineEnd} (exclusive)
+     *
+     * @return the character at the given index
+     */
+    protected abstract char charAt(int index);
+
+    /**
+     * Creates a string from the given range of the underlying buffer.
+     *
+     * @param start
+     *         the start index, inclusive
+     * @param end
+     *         the end index, exclusive
+     *
+     * @return a new string containing the characters of the given range
+     */
+    @NotNull
+    protected abstract String substring(int start, int end);
+
+    /**
+     * Gets the id of the string made of the given range of the underlying buffer in the given dictionary, without
+     * creating a string. By default, the characters of the range are looked up as they are returned by {@link
+     * #charAt(int)}.
+     *
+     * @param dictionary
+     *         the dictionary to look the string up in
+     * @param start
+     *         the start index, inclusive
+     * @param end
+     *         the end index, exclusive
+     *
+     * @return the id of the string, or a negative value if it is not in the dictionary
+     */
+    protected int findToken(StringDictionary dictionary, int start, int end) {
+        return dictionary.find(currentLineSequence, start - lineStart, end - lineStart);
+    }
+
+    /**
+     * Moves to the next line of input, and updates {@link #lineStart} and {@link #lineEnd} accordingly. The line
+     * terminator is not part of the line.
+     *
+     * @return true if a new line was found, false if the end of the input was reached
+     *
+     * @throws IOException
+     *         if an error occurred while reading the input
+     */
+    protected abstract boolean advanceToNextLine() throws IOException;
+
+    /**
+     * Consumes the rest of the input, and counts the lines that contain something else than whitespace.
+     *
+     * @return the number of non-blank lines left in the input
+     *
+     * @throws IOException
+     *         if an error occurred while reading the input
+     */
+    protected abstract int consumeAndCountRemainingLines() throws IOException;
+
+    /**
+     * Reads the rest of the input until the first character that is not whitespace, if any.
+     *
+     * @return true if the remaining input contains something else than whitespace
+     *
+     * @throws IOException
+     *         if an error occurred while reading the input
+     */
+    protected abstract boolean hasRemainingNonBlankInput() throws IOException;
+
+    /**
+     * Releases the underlying resources, if any.
+     *
+     * @throws IOException
+     *         if an error occurred while releasing the resources
+     */
+    protected abstract void releaseResources() throws IOException;
+
+    /**
+     * Gets the line number of the last token read. If no token has been read yet, the line number is 0. Then the
+     * line numbering is 1-based.
+     * <p>
+     * Note that this method does not move the scanner or consume any input.
+     *
+     * @return the line number of the last token seen
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets the full line containing the last token read. If no token has been read yet, the current line is null.
+     * Even if the last token read is in the middle of the line, the full line is returned from beginning to end.
+     * <p>
+     * Note that this method does not move the scanner or consume any input.
+     *
+     * @return the current line as a string
+     */
+    @Nullable
+    public String getCurrentLine() {
+        if (!hasCurrentLine) {
+            return null;
+        }
+        if (currentLineRaw == null) {
+            currentLineRaw = substring(lineStart, lineEnd);
+        }
+        return currentLineRaw;
+    }
+
+    /**
+     * Scans the next token of the input as a string.
+     *
+     * @return the string scanned from the input
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public String nextString() throws InputParsingException {
+        int index = nextTokenIndex();
+        return substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Scans the next token of the input and gets its id in the given dictionary, adding the token to the dictionary if
+     * it is not already present. A string is only created for the tokens that are not found in the dictionary.
+     *
+     * @param dictionary
+     *         the dictionary to look the token up in
+     *
+     * @return the id of the token in the dictionary
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public int nextTokenId(StringDictionary dictionary) throws InputParsingException {
+        int index = nextTokenIndex();
+        int start = tokenStarts[index];
+        int end = tokenEnds[index];
+        int id = findToken(dictionary, start, end);
+        if (id >= 0) {
+            return id;
+        }
+        return dictionary.add(substring(start, end));
+    }
+
+    /**
+     * Skips the next tokens of the input, without creating strings nor converting them.
+     *
+     * @param n
+     *         the number of tokens to skip
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public void skipTokens(int n) throws InputParsingException {
+        int remaining = n;
+        while (remaining > 0) {
+            while (!hasMoreTokenInCurrentLine()) {
+                fetchNextLine();
+            }
+            int skipped = Math.min(remaining, tokenCount - nextTokenIndex);
+            nextTokenIndex += skipped;
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Skips the next lines of the input. The skipped lines are only scanned for line terminators: they are not split
+     * into tokens, nor converted.
+     *
+     * @param n
+     *         the number of lines to skip
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there are less than n lines left to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public void skipLines(int n) throws InputParsingException {
+        for (int i = 0; i < n; i++) {
+            fetchNextRawLine();
+        }
+    }
+
+    /**
+     * Consumes the next token if it is the canonical decimal representation of a long, as produced by {@link
+     * Long#toString(long)}, and returns its value. Otherwise, the token is left unconsumed, so that it can be read as a
+     * string instead.
+     *
+     * @return the value of the next token, or {@link #NOT_A_SIMPLE_LONG} if the token is not a canonical long
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     */
+    long nextCanonicalLong() throws InputParsingException {
+        while (!hasMoreTokenInCurrentLine()) {
+            fetchNextLine();
+        }
+        int start = tokenStarts[nextTokenIndex];
+        int end = tokenEnds[nextTokenIndex];
+        int firstDigit = start < end && charAt(start) == '-' ? start + 1 : start;
+        if (firstDigit == end) {
+            return NOT_A_SIMPLE_LONG;
+        }
+        char first = charAt(firstDigit);
+        boolean isZero = first == '0' && end - start == 1;
+        if (!isZero && (first < '1' || first > '9')) {
+            // a sign, leading zeros or "-0" would not be restored identically as a string
+            return NOT_A_SIMPLE_LONG;
+        }
+        long value = parseSimpleLong(start, end);
+        if (value != NOT_A_SIMPLE_LONG) {
+            nextTokenIndex++;
+        }
+        return value;
+    }
+
+    /**
+     * Scans the next token of the input as an int.
+     *
+     * @return the int scanned from the input
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the input could not be parsed as an int
+     */
+    public int nextInt() throws InputParsingException {
+        int index = nextTokenIndex();
+        return parseInt(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Scans the next token of the input as a long.
+     *
+     * @return the long scanned from the input
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the input could not be parsed as a long
+     */
+    public long nextLong() throws InputParsingException {
+        int index = nextTokenIndex();
+        return parseLong(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Scans the next token of the input as a double.
+     *
+     * @return the double scanned from the input
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the input could not be parsed as a double
+     */
+    public double nextDouble() throws InputParsingException {
+        int index = nextTokenIndex();
+        return parseDouble(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Parses the given range of the buffer as an int, without creating a string for plain decimal integers. Other
+     * cases are delegated to {@link Integer#parseInt(String)}, so that the accepted inputs are exactly the same.
+     *
+     * @param start
+     *         the start index of the token, inclusive
+     * @param end
+     *         the end index of the token, exclusive
+     *
+     * @return the parsed int
+     *
+     * @throws InputParsingException
+     *         if the token could not be parsed as an int
+     */
+    protected final int parseInt(int start, int end) throws InputParsingException {
+        long value = parseSimpleLong(start, end);
+        if (value == NOT_A_SIMPLE_LONG || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return parseIntSlowPath(start, end);
+        }
+        return (int) value;
+    }
+
+    private int parseIntSlowPath(int start, int end) throws InputParsingException {
+        String value = substring(start, end);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new TokenConversionException(getLineNumber(), value, "int", e);
+        }
+    }
+
+    /**
+     * Parses the given range of the buffer as a long, without creating a string for plain decimal integers. Other
+     * cases are delegated to {@link Long#parseLong(String)}, so that the accepted inputs are exactly the same.
+     *
+     * @param start
+     *         the start index of the token, inclusive
+     * @param end
+     *         the end index of the token, exclusive
+     *
+     * @return the parsed long
+     *
+     * @throws InputParsingException
+     *         if the token could not be parsed as a long
+     */
+    protected final long parseLong(int start, int end) throws InputParsingException {
+        long value = parseSimpleLong(start, end);
+        if (value == NOT_A_SIMPLE_LONG) {
+            return parseLongSlowPath(start, end);
+        }
+        return value;
+    }
+
+    private long parseLongSlowPath(int start, int end) throws InputParsingException {
+        String value = substring(start, end);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new TokenConversionException(getLineNumber(), value, "long", e);
+        }
+    }
+
+    /**
+     * Parses an optional sign followed by at most {@value #MAX_SIMPLE_LONG_DIGITS} ASCII digits, which cannot
+     * overflow.
+     *
+     * @return the parsed value, or {@link #NOT_A_SIMPLE_LONG} if the token is not in this simple format
+     */
+    private long parseSimpleLong(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char first = charAt(i);
+            if (first == '-') {
+                negative = true;
+                i++;
+            } else if (first == '+') {
+                i++;
+            }
+        }
+        if (i == end || end - i > MAX_SIMPLE_LONG_DIGITS) {
+            return NOT_A_SIMPLE_LONG;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_SIMPLE_LONG;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the given range of the buffer as a double, without creating a string for plain decimal numbers (see
+     * {@link FastDoubleParser}). Other cases are delegated to {@link Double#parseDouble(String)}, so that the accepted
+     * inputs and the results are exactly the same.
+     *
+     * @param start
+     *         the start index of the token, inclusive
+     * @param end
+     *         the end index of the token, exclusive
+     *
+     * @return the parsed double
+     *
+     * @throws InputParsingException
+     *         if the token could not be parsed as a double
+     */
+    protected final double parseDouble(int start, int end) throws InputParsingException {
+        double value = FastDoubleParser.tryParse(currentLineSequence, start - lineStart, end - lineStart);
+        if (Double.isNaN(value)) {
+            // special values and formats that cannot be converted quickly are left to the JDK
+            return parseDoubleSlowPath(start, end);
+        }
+        return value;
+    }
+
+    private double parseDoubleSlowPath(int start, int end) throws InputParsingException {
+        String value = substring(start, end);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new TokenConversionException(getLineNumber(), value, "double", e);
+        }
+    }
+
+    /**
+     * Reads and returns the next line of input.
+     *
+     * @return the next line of input
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public String nextLine() throws InputParsingException {
+        fetchNextLine();
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        return getCurrentLine();
+    }
+
+    /**
+     * Reads and returns the next line of input as an array of string tokens.
+     *
+     * @return the next line of input
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public String[] nextLineTokens() throws InputParsingException {
+        fetchNextLine();
+        String[] tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            tokens[i] = substring(tokenStarts[i], tokenEnds[i]);
+        }
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        return tokens;
+    }
+
+    /**
+     * Reads the next line of input as an array of ints. The tokens are parsed directly from the input buffer, without
+     * creating intermediate strings.
+     *
+     * @return the next line of input as an array of ints
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if a token could not be parsed as an int, or if an error occurs while reading the input
+     */
+    public int[] nextLineInts() throws InputParsingException {
+        fetchNextLine();
+        int[] values = new int[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            values[i] = parseInt(tokenStarts[i], tokenEnds[i]);
+        }
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        return values;
+    }
+
+    /**
+     * Reads the next line of input as an array of longs. The tokens are parsed directly from the input buffer, without
+     * creating intermediate strings.
+     *
+     * @return the next line of input as an array of longs
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if a token could not be parsed as a long, or if an error occurs while reading the input
+     */
+    public long[] nextLineLongs() throws InputParsingException {
+        fetchNextLine();
+        long[] values = new long[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            values[i] = parseLong(tokenStarts[i], tokenEnds[i]);
+        }
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        return values;
+    }
+
+    /**
+     * Reads the next line of input into an {@link IntBuffer} created by the given allocator. The tokens are parsed
+     * directly from the input buffer into the created buffer, without creating intermediate strings nor arrays: the
+     * line is scanned once to count the tokens, and once more to parse them.
+     *
+     * @param allocator
+     *         a function to create a buffer with at least the given capacity
+     *
+     * @return the created buffer, with its position at 0 and its limit at the number of values
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if a token could not be parsed as an int, or if an error occurs while reading the input
+     */
+    public IntBuffer nextLineInts(IntFunction<? extends IntBuffer> allocator) throws InputParsingException {
+        // the line is not tokenized, so that it is seen as completely consumed
+        fetchNextRawLine();
+        int nbValues = countTokens();
+        IntBuffer values = allocator.apply(nbValues);
+        streamedTokenCount = 0;
+        forEachToken((start, end) -> values.put(streamedTokenCount++, parseInt(start, end)));
+        values.limit(nbValues);
+        return values;
+    }
+
+    /**
+     * Reads the next line of input into a {@link LongBuffer} created by the given allocator. The tokens are parsed
+     * directly from the input buffer into the created buffer, without creating intermediate strings nor arrays: the
+     * line is scanned once to count the tokens, and once more to parse them.
+     *
+     * @param allocator
+     *         a function to create a buffer with at least the given capacity
+     *
+     * @return the created buffer, with its position at 0 and its limit at the number of values
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if a token could not be parsed as a long, or if an error occurs while reading the input
+     */
+    public LongBuffer nextLineLongs(IntFunction<? extends LongBuffer> allocator) throws InputParsingException {
+        // the line is not tokenized, so that it is seen as completely consumed
+        fetchNextRawLine();
+        int nbValues = countTokens();
+        LongBuffer values = allocator.apply(nbValues);
+        streamedTokenCount = 0;
+        forEachToken((start, end) -> values.put(streamedTokenCount++, parseLong(start, end)));
+        values.limit(nbValues);
+        return values;
+    }
+
+    /**
+     * Reads the next line of input as an array of doubles. The tokens are parsed directly from the input buffer,
+     * without creating intermediate strings when possible.
+     *
+     * @return the next line of input as an array of doubles
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if a token could not be parsed as a double, or if an error occurs while reading the input
+     */
+    public double[] nextLineDoubles() throws InputParsingException {
+        fetchNextLine();
+        double[] values = new double[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            values[i] = parseDouble(tokenStarts[i], tokenEnds[i]);
+        }
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        return values;
+    }
+
+    /**
+     * Reads the next line of input, and returns a view of its tokens over the input buffer. The same view is reused
+     * for every line, so that no object is created per line.
+     *
+     * @return the view of the next line, valid until the next read from this scanner
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public LineView nextLineView() throws InputParsingException {
+        fetchNextLine();
+        // mark current line as consumed
+        nextTokenIndex = tokenCount;
+        if (lineView == null) {
+            lineView = new LineView(this);
+        }
+        lineView.bind();
+        return lineView;
+    }
+
+    int tokenCount() {
+        return tokenCount;
+    }
+
+    int tokenStart(int index) {
+        return tokenStarts[index];
+    }
+
+    int tokenEnd(int index) {
+        return tokenEnds[index];
+    }
+
+    /**
+     * Reads the next line of input as a row of single-byte characters, and copies them into the given array. The line
+     * is not split into tokens: all its characters are part of the row, including separators.
+     *
+     * @param dest
+     *         the array to copy the characters to
+     * @param offset
+     *         the index in {@code dest} of the first character of the row
+     * @param length
+     *         the expected number of characters of the row
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the line does not have the expected length, or if an error occurs while reading the input
+     */
+    public void nextLineChars(byte[] dest, int offset, int length) throws InputParsingException {
+        fetchNextRow(length);
+        for (int i = 0; i < length; i++) {
+            dest[offset + i] = (byte) charAt(lineStart + i);
+        }
+    }
+
+    /**
+     * Reads the next line of input as a row of binary cells, and sets the bits of the given bitset that correspond to
+     * the given character. The other bits are left untouched. The line is not split into tokens: all its characters
+     * are part of the row, including separators.
+     *
+     * @param dest
+     *         the bitset to set the bits of, bit {@code i} being the bit {@code i % 64} of the word {@code i / 64}
+     * @param bitOffset
+     *         the index in {@code dest} of the bit of the first character of the row
+     * @param length
+     *         the expected number of characters of the row
+     * @param setChar
+     *         the character corresponding to set bits
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the line does not have the expected length, or if an error occurs while reading the input
+     */
+    public void nextLineBits(long[] dest, int bitOffset, int length, char setChar) throws InputParsingException {
+        fetchNextRow(length);
+        for (int i = 0; i < length; i++) {
+            if (charAt(lineStart + i) == setChar) {
+                int bit = bitOffset + i;
+                dest[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private void fetchNextRow(int expectedLength) throws InputParsingException {
+        fetchNextRawLine();
+        int length = lineEnd - lineStart;
+        if (length != expectedLength) {
+            throw new InputParsingException(getLineNumber(), getCurrentLine(),
+                    "expected a row of " + expectedLength + " characters, got " + length);
+        }
+    }
+
+    private int nextTokenIndex() throws InputParsingException {
+        while (!hasMoreTokenInCurrentLine()) {
+            fetchNextLine();
+        }
+        return nextTokenIndex++;
+    }
+
+    boolean hasMoreTokenInCurrentLine() {
+        return hasCurrentLine && nextTokenIndex < tokenCount;
+    }
+
+    /**
+     * Accounts for lines that were consumed without going through this scanner, for instance because they were read
+     * by other scanners. The current line is reset, and the line number is moved forward.
+     *
+     * @param nbLines
+     *         the number of lines consumed outside of this scanner
+     */
+    protected final void markLinesConsumed(int nbLines) {
+        lineNumber += nbLines;
+        hasCurrentLine = false;
+        currentLineRaw = null;
+        tokenCount = 0;
+        nextTokenIndex = 0;
+    }
+
+    /**
+     * Moves to the next line without tokenizing it, so that it is seen as completely consumed.
+     */
+    private void fetchNextRawLine() throws InputParsingException {
+        if (hasMoreTokenInCurrentLine()) {
+            throw new IncompleteLineReadException(getLineNumber(), remainingInputOnCurrentLine());
+        }
+        try {
+            hasCurrentLine = advanceToNextLine();
+            currentLineRaw = null;
+            tokenCount = 0;
+            nextTokenIndex = 0;
+            if (!hasCurrentLine) {
+                throw new NoMoreLinesToReadException();
+            }
+            lineNumber++;
+        } catch (IOException e) {
+            throw new InputParsingException("An error occurred while reading the input", e);
+        }
+    }
+
+    private void fetchNextLine() throws InputParsingException {
+        try {
+            if (hasMoreTokenInCurrentLine()) {
+                throw new IncompleteLineReadException(getLineNumber(), remainingInputOnCurrentLine());
+            }
+            hasCurrentLine = advanceToNextLine();
+            currentLineRaw = null;
+            if (!hasCurrentLine) {
+                throw new NoMoreLinesToReadException();
+            }
+            lineNumber++;
+            tokenize();
+            nextTokenIndex = 0;
+        } catch (IOException e) {
+            throw new InputParsingException("An error occurred while reading the input", e);
+        }
+    }
+
+    private void tokenize() {
+        tokenCount = 0;
+        forEachToken(tokenRecorder);
+    }
+
+    private int countTokens() {
+        streamedTokenCount = 0;
+        forEachToken(tokenCounter);
+        return streamedTokenCount;
+    }
+
+    private void forEachToken(TokenHandler handler) {
+        if (lineStart == lineEnd) {
+            return;
+        }
+        switch (separator.getType()) {
+        case CHAR:
+            tokenizeOnChar(separator.getChar(), handler);
+            break;
+        case WHITESPACE:
+            tokenizeOnWhitespace(handler);
+            break;
+        case WHITESPACE_RUNS:
+            tokenizeOnWhitespaceRuns(handler);
+            break;
+        default:
+            tokenizeOnPattern(separator.getPattern(), handler);
+            break;
+        }
+    }
+
+    private void tokenizeOnChar(char separatorChar, TokenHandler handler) {
+        int start = lineStart;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (charAt(i) == separatorChar) {
+                handler.onToken(start, i);
+                start = i + 1;
+            }
+        }
+        handler.onToken(start, lineEnd);
+    }
+
+    private void tokenizeOnWhitespace(TokenHandler handler) {
+        int start = lineStart;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (isWhitespace(charAt(i))) {
+                handler.onToken(start, i);
+                start = i + 1;
+            }
+        }
+        handler.onToken(start, lineEnd);
+    }
+
+    private void tokenizeOnWhitespaceRuns(TokenHandler handler) {
+        int i = lineStart;
+        while (i < lineEnd) {
+            while (i < lineEnd && isWhitespace(charAt(i))) {
+                i++;
+            }
+            if (i == lineEnd) {
+                return;
+            }
+            int start = i;
+            while (i < lineEnd && !isWhitespace(charAt(i))) {
+                i++;
+            }
+            handler.onToken(start, i);
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        // same characters as the regex class \s
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private void tokenizeOnPattern(Pattern pattern, TokenHandler handler) {
+        // mimics Pattern.split(input, -1) without creating the strings
+        Matcher matcher = pattern.matcher(currentLineSequence);
+        int index = 0;
+        while (matcher.find()) {
+            if (index == 0 && matcher.start() == 0 && matcher.start() == matcher.end()) {
+                // no empty leading substring for zero-width match at the beginning of the input
+                continue;
+            }
+            handler.onToken(lineStart + index, lineStart + matcher.start());
+            index = matcher.end();
+        }
+        handler.onToken(lineStart + index, lineEnd);
+    }
+
+    private void addToken(int start, int end) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenCount++;
+    }
+
+    private String remainingInputOnCurrentLine() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = nextTokenIndex; i < tokenCount; i++) {
+            if (i > nextTokenIndex) {
+                sb.append(' ');
+            }
+            sb.append(substring(tokenStarts[i], tokenEnds[i]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        close(TrailingInputCheck.EXACT_COUNT);
+    }
+
+    /**
+     * Checks the remaining input as specified, and releases the underlying resources.
+     *
+     * @param trailingInputCheck
+     *         the check to perform on the input left unread
+     *
+     * @throws IncompleteInputReadException
+     *         if the check is enabled and there is still some input left to read
+     */
+    public void close(TrailingInputCheck trailingInputCheck) {
+        try {
+            switch (trailingInputCheck) {
+            case OFF:
+                break;
+            case CHEAP:
+                if (hasRemainingNonBlankInput()) {
+                    throw new IncompleteInputReadException();
+                }
+                break;
+            default:
+                int nbLinesLeft = consumeAndCountRemainingLines();
+                if (nbLinesLeft > 0) {
+                    throw new IncompleteInputReadException(nbLinesLeft);
+                }
+                break;
+            }
+        } catch (IOException e) {
+            throw new InputParsingException("An error occurred while consuming the end of the input", e);
+        } finally {
+            safeClose();
+        }
+    }
+
+    private void safeClose() {
+        try {
+            releaseResources();
+        } catch (IOException ignored) {
+            // ignored exception
+        }
+    }
+
+    /**
+     * Receives the bounds of the tokens of the current line, in order.
+     */
+    @FunctionalInterface
+    private interface TokenHandler {
+
+        void onToken(int start, int end) throws InputParsingException;
+    }
+
+    /**
+     * A view of the current line as a {@link CharSequence}, to match regular expressions without creating a string.
+     */
+    private class CurrentLineSequence implements CharSequence {
+
+        @Override
+        public int length() {
+            return lineEnd - lineStart;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return AbstractLineNumberScanner.this.charAt(lineStart + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return substring(lineStart + start, lineStart + end);
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return substring(lineStart, lineEnd);
+        }
+    }
+}
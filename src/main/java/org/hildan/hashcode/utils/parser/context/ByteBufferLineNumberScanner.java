@@ -0,0 +1,346 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hildan.hashcode.utils.collections.StringDictionary;
+import org.hildan.hashcode.utils.parser.config.Separator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A scanner that is aware of the line numbers and throws exceptions that contain this useful piece of information.
+ * <p>
+ * This implementation tokenizes the bytes of a {@link ByteBuffer} in place, typically a memory-mapped file, without
+ * decoding the whole input into characters. The input is expected to be encoded in ASCII or UTF-8: delimiters and line
+ * terminators are matched byte by byte, and the strings returned by this scanner are decoded as UTF-8. Separators
+ * that could match part of a multi-byte character are not suitable for this scanner, see {@link #supports(Separator)}.
+ * <p>
+ * As for {@link java.io.LineNumberReader}, a line is considered to be terminated by any one of a line feed ('\n'), a
+ * carriage return ('\r'), or a carriage return followed immediately by a line feed.
+ */
+public class ByteBufferLineNumberScanner extends AbstractLineNumberScanner {
+
+    private final ByteBuffer buffer;
+
+    private final int limit;
+
+    private int position;
+
+    /**
+     * The characters of the last non-ASCII token decoded for a dictionary lookup, reused between tokens.
+     */
+    private char[] decodedChars = new char[0];
+
+    private CharBuffer decodedView = CharBuffer.wrap(decodedChars);
+
+    /**
+     * Creates a new {@code ByteBufferLineNumberScanner} reading the remaining bytes of the given buffer.
+     *
+     * @param buffer
+     *         the buffer to read the data from. Its position and limit are not modified by this scanner.
+     * @param delimiter
+     *         the delimiter to use to identify separate tokens, as a regular expression
+     */
+    public ByteBufferLineNumberScanner(ByteBuffer buffer, String delimiter) {
+        this(buffer, Separator.regex(delimiter));
+    }
+
+    /**
+     * Creates a new {@code ByteBufferLineNumberScanner} using the given buffer as underlying source.
+     *
+     * @param buffer
+     *         the buffer to read the data from
+     * @param separator
+     *         the separator to use to identify separate tokens
+     */
+    public ByteBufferLineNumberScanner(ByteBuffer buffer, Separator separator) {
+        this(buffer, separator, 0);
+    }
+
+    private ByteBufferLineNumberScanner(ByteBuffer buffer, Separator separator, int lineNumberOffset) {
+        super(separator, lineNumberOffset);
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Splits the next lines of input into independent scanners of consecutive lines, and moves this scanner past
+     * those lines. The returned scanners share the underlying bytes, and report line numbers relative to the whole
+     * input.
+     *
+     * @param nbLines
+     *         the total number of lines to split
+     * @param linesPerChunk
+     *         the number of lines of each returned scanner (except the last one, which may have less)
+     *
+     * @return the scanners of each chunk, in order, or null if the current line is not completely consumed or if
+     * there are less than {@code nbLines} lines left, in which case this scanner is left untouched
+     */
+    @Nullable
+    ByteBufferLineNumberScanner[] splitNextLines(int nbLines, int linesPerChunk) {
+        if (hasMoreTokenInCurrentLine()) {
+            return null;
+        }
+        int nbChunks = (nbLines + linesPerChunk - 1) / linesPerChunk;
+        int[] chunkEnds = new int[nbChunks];
+        int end = position;
+        for (int line = 0; line < nbLines; line++) {
+            if (end >= limit) {
+                return null;
+            }
+            end = skipLineTerminator(findLineTerminator(end));
+            if ((line + 1) % linesPerChunk == 0 || line + 1 == nbLines) {
+                chunkEnds[line / linesPerChunk] = end;
+            }
+        }
+        ByteBufferLineNumberScanner[] chunks = new ByteBufferLineNumberScanner[nbChunks];
+        int chunkStart = position;
+        for (int i = 0; i < nbChunks; i++) {
+            chunks[i] = slice(chunkStart, chunkEnds[i], getLineNumber() + i * linesPerChunk);
+            chunkStart = chunkEnds[i];
+        }
+        position = chunkStart;
+        markLinesConsumed(nbLines);
+        return chunks;
+    }
+
+    /**
+     * Records the byte offsets of the next items of input, each spanning a fixed number of lines, and moves this
+     * scanner past those items.
+     *
+     * @param nbItems
+     *         the number of items to index
+     * @param linesPerItem
+     *         the number of lines of each item
+     *
+     * @return the offsets of the start of each item, followed by the offset of the end of the last item, or null if
+     * the current line is not completely consumed or if there are not enough lines left, in which case this scanner is
+     * left untouched
+     */
+    @Nullable
+    int[] indexNextLines(int nbItems, int linesPerItem) {
+        if (hasMoreTokenInCurrentLine()) {
+            return null;
+        }
+        int[] offsets = new int[nbItems + 1];
+        int end = position;
+        for (int item = 0; item < nbItems; item++) {
+            offsets[item] = end;
+            for (int line = 0; line < linesPerItem; line++) {
+                if (end >= limit) {
+                    return null;
+                }
+                end = skipLineTerminator(findLineTerminator(end));
+            }
+        }
+        offsets[nbItems] = end;
+        position = end;
+        markLinesConsumed(nbItems * linesPerItem);
+        return offsets;
+    }
+
+    /**
+     * Creates an independent scanner reading the given range of bytes of this scanner's buffer.
+     *
+     * @param start
+     *         the offset of the first byte of the range, at the start of a line
+     * @param end
+     *         the offset of the end of the range (exclusive)
+     * @param lineNumberOffset
+     *         the line number of the line preceding the range
+     *
+     * @return a new scanner reading the given range
+     */
+    ByteBufferLineNumberScanner slice(int start, int end, int lineNumberOffset) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(end);
+        slice.position(start);
+        return new ByteBufferLineNumberScanner(slice, getSeparator(), lineNumberOffset);
+    }
+
+    /**
+     * Tells whether the given separator can be matched on the raw bytes of a UTF-8 input. This is the case for the
+     * whitespace separators and ASCII characters, because the bytes of a multi-byte UTF-8 character are never ASCII.
+     * Non-ASCII characters and regular expressions, on the other hand, could match single bytes of a multi-byte
+     * character and split it.
+     *
+     * @param separator
+     *         the separator to check
+     *
+     * @return true if this scanner tokenizes UTF-8 input correctly with the given separator
+     */
+    public static boolean supports(@NotNull Separator separator) {
+        switch (separator.getType()) {
+        case CHAR:
+            return separator.getChar() < 0x80;
+        case REGEX:
+            return false;
+        default:
+            return true;
+        }
+    }
+
+    @Override
+    protected char charAt(int index) {
+        return (char) (buffer.get(index) & 0xFF);
+    }
+
+    @NotNull
+    @Override
+    protected String substring(int start, int end) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected int findToken(StringDictionary dictionary, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                // the raw bytes of non-ASCII tokens differ from the decoded string, which must be looked up instead
+                int length = decodeUtf8(start, end);
+                return length < 0 ? -1 : dictionary.find(decodedView, 0, length);
+            }
+        }
+        return super.findToken(dictionary, start, end);
+    }
+
+    /**
+     * Decodes the given range of UTF-8 bytes into {@link #decodedChars}, without creating a string.
+     *
+     * @return the number of decoded characters, or -1 if the bytes are not valid UTF-8, in which case the lookup is
+     * left to the decoded string, which contains replacement characters
+     */
+    private int decodeUtf8(int start, int end) {
+        // a character never takes more room than its encoded bytes
+        if (decodedChars.length < end - start) {
+            decodedChars = new char[end - start];
+            decodedView = CharBuffer.wrap(decodedChars);
+        }
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            int b = buffer.get(i) & 0xFF;
+            int nbBytes;
+            int codePoint;
+            int minCodePoint;
+            if (b < 0x80) {
+                nbBytes = 1;
+                codePoint = b;
+                minCodePoint = 0;
+            } else if ((b & 0xE0) == 0xC0) {
+                nbBytes = 2;
+                codePoint = b & 0x1F;
+                minCodePoint = 0x80;
+            } else if ((b & 0xF0) == 0xE0) {
+                nbBytes = 3;
+                codePoint = b & 0x0F;
+                minCodePoint = 0x800;
+            } else if ((b & 0xF8) == 0xF0) {
+                nbBytes = 4;
+                codePoint = b & 0x07;
+                minCodePoint = 0x10000;
+            } else {
+                return -1;
+            }
+            if (i + nbBytes > end) {
+                return -1;
+            }
+            for (int k = 1; k < nbBytes; k++) {
+                int next = buffer.get(i + k) & 0xFF;
+                if ((next & 0xC0) != 0x80) {
+                    return -1;
+                }
+                codePoint = (codePoint << 6) | (next & 0x3F);
+            }
+            if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                return -1;
+            }
+            length += Character.toChars(codePoint, decodedChars, length);
+            i += nbBytes;
+        }
+        return length;
+    }
+
+    @Override
+    protected boolean advanceToNextLine() {
+        if (position >= limit) {
+            return false;
+        }
+        int i = findLineTerminator(position);
+        lineStart = position;
+        lineEnd = i;
+        position = skipLineTerminator(i);
+        return true;
+    }
+
+    private int findLineTerminator(int from) {
+        int i = from;
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int skipLineTerminator(int index) {
+        if (index >= limit) {
+            return limit;
+        }
+        if (buffer.get(index) == '\r' && index + 1 < limit && buffer.get(index + 1) == '\n') {
+            return index + 2;
+        }
+        return index + 1;
+    }
+
+    @Override
+    protected int consumeAndCountRemainingLines() {
+        int nbLinesLeft = 0;
+        boolean blankLine = true;
+        for (int i = position; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                if (!blankLine) {
+                    nbLinesLeft++;
+                }
+                blankLine = true;
+            } else if ((b & 0xFF) > ' ') {
+                // same definition as String.trim()
+                blankLine = false;
+            }
+        }
+        if (!blankLine) {
+            nbLinesLeft++;
+        }
+        position = limit;
+        return nbLinesLeft;
+    }
+
+    @Override
+    protected boolean hasRemainingNonBlankInput() {
+        for (int i = position; i < limit; i++) {
+            // same definition as String.trim()
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void releaseResources() {
+        // nothing to release, the buffer is unmapped when garbage collected
+    }
+}
@@ -1,25 +1,66 @@
 package org.hildan.hashcode.utils.parser.context;
 
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.function.IntFunction;
 
+import org.hildan.hashcode.utils.collections.BitGrid;
+import org.hildan.hashcode.utils.collections.CharGrid;
+import org.hildan.hashcode.utils.collections.StringDictionary;
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.config.TrailingInputCheck;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the current parsing context. It provides methods to access the input data and the context variables.
  */
 public class Context {
 
-    private final Map<String, String> variables;
+    private static final byte UNDEFINED = 0;
 
-    private final LineNumberScanner scanner;
+    private static final byte LONG_VALUE = 1;
+
+    private static final byte STRING_VALUE = 2;
+
+    /**
+     * The kind of value stored in each variable slot.
+     */
+    private byte[] variableKinds;
+
+    private long[] longVariables;
+
+    private String[] stringVariables;
+
+    private final AbstractLineNumberScanner scanner;
 
     /**
-     * Creates a new parsing context using the given {@link Reader} to access the input.
+     * The line number at which this context's input ends, if it is a chunk of a bigger input, or -1 otherwise.
+     */
+    private int chunkEndLine = -1;
+
+    private TrailingInputCheck trailingInputCheck = TrailingInputCheck.EXACT_COUNT;
+
+    /**
+     * The dictionaries of this parse, by name, shared with the chunks of this context. Created on first use.
+     */
+    private Map<String, StringDictionary> dictionaries;
+
+    /**
+     * Whether this context is a chunk created by {@link #splitNextLines(int, int)}, which may be read in parallel with
+     * the other chunks, and therefore cannot use the shared dictionaries.
+     */
+    private boolean parallelChunk;
+
+    /**
+     * Creates a new parsing context using the given {@link Reader} to access the input. If {@link
+     * Config#isReadAhead()} is true, the reader is read on a background thread while parsing.
      *
      * @param reader
      *         the reader to use to read the input
@@ -27,8 +68,32 @@ public class Context {
      *         the config defining how the parser should behave
      */
     public Context(Reader reader, Config config) {
-        this.variables = new HashMap<>();
-        this.scanner = new LineNumberScanner(reader, config.getSeparator());
+        this(new LineNumberScanner(config.isReadAhead() ? new ReadAheadReader(reader) : reader,
+                config.getSeparatorMode()));
+        this.trailingInputCheck = config.getTrailingInputCheck();
+    }
+
+    /**
+     * Creates a new parsing context reading the input directly from the bytes of the given buffer. This is typically
+     * used with a memory-mapped file, to avoid decoding the whole input into strings. The input is expected to be
+     * encoded in ASCII or UTF-8.
+     *
+     * @param input
+     *         the buffer containing the input, from its position to its limit
+     * @param config
+     *         the config defining how the parser should behave
+     */
+    public Context(ByteBuffer input, Config config) {
+        this(new ByteBufferLineNumberScanner(input, config.getSeparatorMode()));
+        this.trailingInputCheck = config.getTrailingInputCheck();
+    }
+
+    private Context(AbstractLineNumberScanner scanner) {
+        // the slots are shared by all the readers of the JVM, the storage only grows when this context sets variables
+        this.variableKinds = new byte[0];
+        this.longVariables = new long[0];
+        this.stringVariables = new String[0];
+        this.scanner = scanner;
     }
 
     /**
@@ -46,7 +111,28 @@ public class Context {
         if (n < 0) {
             throw new IllegalArgumentException("The number of elements to skip cannot be negative");
         }
-        IntStream.range(0, n).forEach(i -> scanner.nextString());
+        scanner.skipTokens(n);
+    }
+
+    /**
+     * Skips the next n lines of input. The skipped lines are only scanned for line terminators, their content is not
+     * parsed.
+     *
+     * @param n
+     *         the number of lines to skip (0 makes this method a noop)
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there are less than n lines left to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public void skipLines(int n) throws InputParsingException {
+        if (n < 0) {
+            throw new IllegalArgumentException("The number of lines to skip cannot be negative");
+        }
+        scanner.skipLines(n);
     }
 
     /**
@@ -78,6 +164,20 @@ public class Context {
         return scanner.nextInt();
     }
 
+    /**
+     * Scans the next token of the input as a long.
+     *
+     * @return the long scanned from the input
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if the input could not be parsed as a long, or if an IO error occurs
+     */
+    public long readLong() throws InputParsingException {
+        return scanner.nextLong();
+    }
+
     /**
      * Scans the next token of the input as a double.
      *
@@ -92,6 +192,63 @@ public class Context {
         return scanner.nextDouble();
     }
 
+    /**
+     * Scans the next token of the input and gets its id in the given dictionary, adding the token to the dictionary if
+     * it is not already present. Repeated tokens therefore only create a string the first time they are read.
+     *
+     * @param dictionary
+     *         the dictionary to look the token up in, typically from {@link #getDictionary(String)}
+     *
+     * @return the id of the token in the dictionary
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     * @throws IllegalStateException
+     *         if this context is a chunk returned by {@link #splitNextLines(int, int)}
+     */
+    public int readTokenId(@NotNull StringDictionary dictionary) throws InputParsingException {
+        checkDictionariesAllowed();
+        return scanner.nextTokenId(dictionary);
+    }
+
+    /**
+     * Gets the dictionary with the given name, creating an empty one if it does not exist yet. The dictionaries live
+     * as long as the parse, and are shared with the contexts of the chunks of the input (see {@link
+     * #splitNextLines(int, int)} and {@link #indexNextLines(int, int)}), so that a token gets the same id in the whole
+     * input.
+     * <p>
+     * Dictionaries are not thread-safe, they cannot be used by the chunks returned by {@link #splitNextLines(int,
+     * int)}, which may be read in parallel.
+     *
+     * @param name
+     *         the name of the dictionary, to use different sets of ids for different kinds of tokens
+     *
+     * @return the dictionary with the given name
+     *
+     * @throws IllegalStateException
+     *         if this context is a chunk returned by {@link #splitNextLines(int, int)}
+     */
+    @NotNull
+    public StringDictionary getDictionary(@NotNull String name) {
+        checkDictionariesAllowed();
+        return getDictionaries().computeIfAbsent(name, n -> new StringDictionary());
+    }
+
+    private void checkDictionariesAllowed() {
+        if (parallelChunk) {
+            throw new IllegalStateException("Dictionaries cannot be used by the chunks of a section read in parallel");
+        }
+    }
+
+    private Map<String, StringDictionary> getDictionaries() {
+        if (dictionaries == null) {
+            dictionaries = new HashMap<>();
+        }
+        return dictionaries;
+    }
+
     /**
      * Reads and returns the next line of input as an array of string tokens.
      *
@@ -108,6 +265,170 @@ public class Context {
         return scanner.nextLineTokens();
     }
 
+    /**
+     * Reads the next line of input, and returns a view of its tokens, which are converted on demand directly from the
+     * input buffer. As opposed to {@link #readLine()}, no string nor array is created: the view is reused for every
+     * line, and is therefore only valid until the next read from this context.
+     *
+     * @return a view of the next line of input
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    @NotNull
+    public LineView readLineView() throws InputParsingException {
+        return scanner.nextLineView();
+    }
+
+    /**
+     * Reads the next line of input as an array of ints, without creating intermediate strings.
+     *
+     * @return the next line of input as an array of ints
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an element could not be parsed as an int, or if an error occurs while reading the input
+     */
+    public int[] readIntArrayLine() throws InputParsingException {
+        return scanner.nextLineInts();
+    }
+
+    /**
+     * Reads the next line of input as an array of longs, without creating intermediate strings.
+     *
+     * @return the next line of input as an array of longs
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an element could not be parsed as a long, or if an error occurs while reading the input
+     */
+    public long[] readLongArrayLine() throws InputParsingException {
+        return scanner.nextLineLongs();
+    }
+
+    /**
+     * Reads the next line of input into an {@link IntBuffer} created by the given allocator, without creating
+     * intermediate strings nor arrays. This is typically used to store big lines off-heap.
+     *
+     * @param allocator
+     *         a function to create a buffer with at least the given capacity
+     *
+     * @return the created buffer, with its position at 0 and its limit at the number of values
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an element could not be parsed as an int, or if an error occurs while reading the input
+     */
+    public IntBuffer readIntBufferLine(IntFunction<? extends IntBuffer> allocator) throws InputParsingException {
+        return scanner.nextLineInts(allocator);
+    }
+
+    /**
+     * Reads the next line of input into a {@link LongBuffer} created by the given allocator, without creating
+     * intermediate strings nor arrays. This is typically used to store big lines off-heap.
+     *
+     * @param allocator
+     *         a function to create a buffer with at least the given capacity
+     *
+     * @return the created buffer, with its position at 0 and its limit at the number of values
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an element could not be parsed as a long, or if an error occurs while reading the input
+     */
+    public LongBuffer readLongBufferLine(IntFunction<? extends LongBuffer> allocator) throws InputParsingException {
+        return scanner.nextLineLongs(allocator);
+    }
+
+    /**
+     * Reads the next line of input as an array of doubles, without creating intermediate strings.
+     *
+     * @return the next line of input as an array of doubles
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an element could not be parsed as a double, or if an error occurs while reading the input
+     */
+    public double[] readDoubleArrayLine() throws InputParsingException {
+        return scanner.nextLineDoubles();
+    }
+
+    /**
+     * Reads the next lines of input as a grid of characters, one line per row, without creating any string. The lines
+     * are not split into tokens: each character of a line is a cell of the grid.
+     *
+     * @param rows
+     *         the number of rows of the grid, which is the number of lines to read
+     * @param columns
+     *         the number of columns of the grid, which is the expected length of each line
+     *
+     * @return the read grid
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there are less than {@code rows} lines left to read
+     * @throws InputParsingException
+     *         if a line does not have {@code columns} characters, or if an error occurs while reading the input
+     */
+    public CharGrid readCharGrid(int rows, int columns) throws InputParsingException {
+        CharGrid grid = new CharGrid(rows, columns);
+        byte[] cells = grid.getCells();
+        for (int row = 0; row < rows; row++) {
+            scanner.nextLineChars(cells, row * grid.getStride(), columns);
+        }
+        return grid;
+    }
+
+    /**
+     * Reads the next lines of input as a grid of binary cells, one line per row, without creating any string. The
+     * lines are not split into tokens: each character of a line is a cell of the grid, which is set if the character
+     * is {@code setChar}, and unset otherwise.
+     *
+     * @param rows
+     *         the number of rows of the grid, which is the number of lines to read
+     * @param columns
+     *         the number of columns of the grid, which is the expected length of each line
+     * @param setChar
+     *         the character of the set cells, for instance '#'
+     *
+     * @return the read grid
+     *
+     * @throws IncompleteLineReadException
+     *         if the previous line was not completely consumed
+     * @throws NoMoreLinesToReadException
+     *         if there are less than {@code rows} lines left to read
+     * @throws InputParsingException
+     *         if a line does not have {@code columns} characters, or if an error occurs while reading the input
+     */
+    public BitGrid readBitGrid(int rows, int columns, char setChar) throws InputParsingException {
+        BitGrid grid = new BitGrid(rows, columns);
+        long[] words = grid.getWords();
+        for (int row = 0; row < rows; row++) {
+            scanner.nextLineBits(words, row * columns, columns, setChar);
+        }
+        return grid;
+    }
+
     /**
      * Scans the next token of the input as a string and stores the value into the given variable.
      *
@@ -123,19 +444,151 @@ public class Context {
      */
     @NotNull
     public String readIntoVariable(String variableName) throws NoMoreLinesToReadException {
-        String value = scanner.nextString();
-        setVariable(variableName, value);
-        return value;
+        VariableSlot slot = VariableSlot.of(variableName);
+        readIntoVariable(slot);
+        return getVariable(slot);
+    }
+
+    /**
+     * Scans the next token of the input and stores the value into the given variable. Integer tokens are stored as
+     * primitive values, so that reading them back as numbers does not require parsing a string again.
+     *
+     * @param slot
+     *         the slot of the variable to write
+     *
+     * @throws NoMoreLinesToReadException
+     *         if there is no more lines to read
+     * @throws InputParsingException
+     *         if an error occurs while reading the input
+     */
+    public void readIntoVariable(@NotNull VariableSlot slot) throws NoMoreLinesToReadException {
+        long value = scanner.nextCanonicalLong();
+        if (value == AbstractLineNumberScanner.NOT_A_SIMPLE_LONG) {
+            setVariable(slot, scanner.nextString());
+        } else {
+            setVariable(slot, value);
+        }
+    }
+
+    /**
+     * Splits the next lines of input into independent contexts, which can be used to read the chunks of a big section
+     * in parallel. Each returned context starts with a copy of the variables of this context. This context is moved
+     * past the split lines. The returned contexts cannot use dictionaries (see {@link #getDictionary(String)}).
+     * <p>
+     * Splitting is only possible when the input is accessed randomly, as when parsing a {@link ByteBuffer}, and when
+     * the current line has been completely consumed.
+     *
+     * @param nbLines
+     *         the total number of lines to split
+     * @param linesPerChunk
+     *         the number of lines of each returned context (except the last one, which may have less)
+     *
+     * @return the contexts for each chunk, in order, or null if the input cannot be split, in which case this context
+     * is left untouched
+     */
+    @Nullable
+    public Context[] splitNextLines(int nbLines, int linesPerChunk) {
+        if (!(scanner instanceof ByteBufferLineNumberScanner)) {
+            return null;
+        }
+        ByteBufferLineNumberScanner[] scanners = ((ByteBufferLineNumberScanner) scanner).splitNextLines(nbLines,
+                linesPerChunk);
+        if (scanners == null) {
+            return null;
+        }
+        Context[] chunks = new Context[scanners.length];
+        for (int i = 0; i < chunks.length; i++) {
+            int endLine = Math.min(scanners[i].getLineNumber() + linesPerChunk, scanner.getLineNumber());
+            chunks[i] = ofChunk(scanners[i], this, endLine);
+            chunks[i].parallelChunk = true;
+        }
+        return chunks;
+    }
+
+    static Context ofChunk(AbstractLineNumberScanner scanner, Context variablesSource, int endLine) {
+        Context chunk = new Context(scanner);
+        chunk.copyVariablesFrom(variablesSource);
+        chunk.dictionaries = variablesSource.getDictionaries();
+        chunk.chunkEndLine = endLine;
+        return chunk;
+    }
+
+    /**
+     * Records the position of the next items of input, each spanning a fixed number of lines, without parsing them.
+     * This context is moved past the indexed lines. The items can later be read independently, in any order, using
+     * {@link LineIndex#open(int)}.
+     * <p>
+     * Indexing is only possible when the input is accessed randomly, as when parsing a {@link ByteBuffer}, and when
+     * the current line has been completely consumed.
+     *
+     * @param nbItems
+     *         the number of items to index
+     * @param linesPerItem
+     *         the number of lines of each item
+     *
+     * @return the index of the items, or null if the input cannot be indexed, in which case this context is left
+     * untouched
+     */
+    @Nullable
+    public LineIndex indexNextLines(int nbItems, int linesPerItem) {
+        if (!(scanner instanceof ByteBufferLineNumberScanner)) {
+            return null;
+        }
+        ByteBufferLineNumberScanner bufferScanner = (ByteBufferLineNumberScanner) scanner;
+        int firstLineNumber = scanner.getLineNumber();
+        int[] offsets = bufferScanner.indexNextLines(nbItems, linesPerItem);
+        if (offsets == null) {
+            return null;
+        }
+        // this context is never read, it only holds a copy of the current variables for the items
+        Context variablesSnapshot = ofChunk(scanner, this, -1);
+        return new LineIndex(bufferScanner, offsets, firstLineNumber, linesPerItem, variablesSnapshot);
+    }
+
+    /**
+     * Checks that a context created by {@link #splitNextLines(int, int)} or {@link LineIndex#open(int)} has been read
+     * exactly until the end of its lines.
+     *
+     * @throws InputParsingException
+     *         if some tokens of this chunk were not read
+     */
+    public void closeChunk() throws InputParsingException {
+        if (scanner.getLineNumber() != chunkEndLine || scanner.hasMoreTokenInCurrentLine()) {
+            throw new InputParsingException(scanner.getLineNumber(), scanner.getCurrentLine(),
+                    "The section was expected to end at line " + chunkEndLine
+                            + ", the items may not have the expected number of lines");
+        }
+    }
+
+    /**
+     * Replaces all variables of this context by the variables of the given context.
+     *
+     * @param other
+     *         the context to copy the variables from
+     */
+    public void copyVariablesFrom(@NotNull Context other) {
+        variableKinds = other.variableKinds.clone();
+        longVariables = other.longVariables.clone();
+        stringVariables = other.stringVariables.clone();
     }
 
     /**
-     * Releases potential resources used by the reader. Should be called when parsing is over.
+     * Releases potential resources used by the reader. Should be called when parsing is over. The input left unread is
+     * checked as defined by {@link Config#getTrailingInputCheck()}.
      *
      * @throws IncompleteInputReadException
-     *         if there is still some input left to read
+     *         if the check is enabled and there is still some input left to read
      */
     public void closeReader() {
-        scanner.close();
+        scanner.close(trailingInputCheck);
+    }
+
+    /**
+     * Releases potential resources used by the reader, without checking the input left unread. Should be called when
+     * parsing is aborted, for instance because of an error, so that the input is not left open.
+     */
+    public void abortReader() {
+        scanner.close(TrailingInputCheck.OFF);
     }
 
     /**
@@ -164,11 +617,30 @@ public class Context {
      *         if no variable is found with the given name
      */
     public String getVariable(String key) throws UndefinedVariableException {
-        String value = variables.get(key);
-        if (value == null) {
-            throw new UndefinedVariableException(key);
+        return getVariable(existingSlot(key));
+    }
+
+    /**
+     * Gets the value of the given context variable, as a string.
+     *
+     * @param slot
+     *         the slot of the context variable to access
+     *
+     * @return the value of the given context variable
+     *
+     * @throws UndefinedVariableException
+     *         if the given variable has not been set
+     */
+    @NotNull
+    public String getVariable(@NotNull VariableSlot slot) throws UndefinedVariableException {
+        switch (kindOf(slot)) {
+        case LONG_VALUE:
+            return Long.toString(longVariables[slot.getIndex()]);
+        case STRING_VALUE:
+            return stringVariables[slot.getIndex()];
+        default:
+            throw new UndefinedVariableException(slot.getName());
         }
-        return value;
     }
 
     /**
@@ -185,11 +657,93 @@ public class Context {
      *         if the variable value cannot be converted to an int
      */
     public int getVariableAsInt(String key) throws InputParsingException {
-        String size = getVariable(key);
+        return getVariableAsInt(existingSlot(key));
+    }
+
+    private static VariableSlot existingSlot(String key) throws UndefinedVariableException {
+        VariableSlot slot = VariableSlot.find(key);
+        if (slot == null) {
+            // no reader ever set this variable, a slot is not allocated just to find out it is undefined
+            throw new UndefinedVariableException(key);
+        }
+        return slot;
+    }
+
+    /**
+     * Gets the value of the given context variable, converted into an int.
+     *
+     * @param slot
+     *         the slot of the context variable to access
+     *
+     * @return the value of the given context variable
+     *
+     * @throws UndefinedVariableException
+     *         if the given variable has not been set
+     * @throws InputParsingException
+     *         if the variable value cannot be converted to an int
+     */
+    public int getVariableAsInt(@NotNull VariableSlot slot) throws InputParsingException {
+        if (kindOf(slot) == LONG_VALUE) {
+            long value = longVariables[slot.getIndex()];
+            if (value == (int) value) {
+                return (int) value;
+            }
+        }
+        String value = getVariable(slot);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InputParsingException("Variable '" + slot.getName() + "' cannot be converted into an int", e);
+        }
+    }
+
+    /**
+     * Gets the value of the given context variable, converted into a long.
+     *
+     * @param slot
+     *         the slot of the context variable to access
+     *
+     * @return the value of the given context variable
+     *
+     * @throws UndefinedVariableException
+     *         if the given variable has not been set
+     * @throws InputParsingException
+     *         if the variable value cannot be converted to a long
+     */
+    public long getVariableAsLong(@NotNull VariableSlot slot) throws InputParsingException {
+        if (kindOf(slot) == LONG_VALUE) {
+            return longVariables[slot.getIndex()];
+        }
+        String value = getVariable(slot);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InputParsingException("Variable '" + slot.getName() + "' cannot be converted into a long", e);
+        }
+    }
+
+    /**
+     * Gets the value of the given context variable, converted into a double.
+     *
+     * @param slot
+     *         the slot of the context variable to access
+     *
+     * @return the value of the given context variable
+     *
+     * @throws UndefinedVariableException
+     *         if the given variable has not been set
+     * @throws InputParsingException
+     *         if the variable value cannot be converted to a double
+     */
+    public double getVariableAsDouble(@NotNull VariableSlot slot) throws InputParsingException {
+        if (kindOf(slot) == LONG_VALUE) {
+            return longVariables[slot.getIndex()];
+        }
+        String value = getVariable(slot);
         try {
-            return Integer.parseInt(size);
+            return FastDoubleParser.parseDouble(value);
         } catch (NumberFormatException e) {
-            throw new InputParsingException("Variable '" + key + "' cannot be converted into an int", e);
+            throw new InputParsingException("Variable '" + slot.getName() + "' cannot be converted into a double", e);
         }
     }
 
@@ -202,6 +756,54 @@ public class Context {
      *         the value to set the variable to
      */
     public void setVariable(String key, String value) {
-        variables.put(key, value);
+        setVariable(VariableSlot.of(key), value);
+    }
+
+    /**
+     * Sets the given variable to the given string value.
+     *
+     * @param slot
+     *         the slot of the context variable to create or update
+     * @param value
+     *         the value to set the variable to
+     */
+    public void setVariable(@NotNull VariableSlot slot, String value) {
+        ensureCapacity(slot);
+        int index = slot.getIndex();
+        // null values are treated as undefined, as they used to be with the previous map-based storage
+        variableKinds[index] = value == null ? UNDEFINED : STRING_VALUE;
+        stringVariables[index] = value;
+    }
+
+    /**
+     * Sets the given variable to the given numeric value.
+     *
+     * @param slot
+     *         the slot of the context variable to create or update
+     * @param value
+     *         the value to set the variable to
+     */
+    public void setVariable(@NotNull VariableSlot slot, long value) {
+        ensureCapacity(slot);
+        int index = slot.getIndex();
+        variableKinds[index] = LONG_VALUE;
+        longVariables[index] = value;
+        stringVariables[index] = null;
+    }
+
+    private byte kindOf(VariableSlot slot) {
+        int index = slot.getIndex();
+        return index < variableKinds.length ? variableKinds[index] : UNDEFINED;
+    }
+
+    private void ensureCapacity(VariableSlot slot) {
+        int index = slot.getIndex();
+        if (index < variableKinds.length) {
+            return;
+        }
+        int newLength = Math.max(index + 1, Math.min(2 * variableKinds.length, VariableSlot.count()));
+        variableKinds = Arrays.copyOf(variableKinds, newLength);
+        longVariables = Arrays.copyOf(longVariables, newLength);
+        stringVariables = Arrays.copyOf(stringVariables, newLength);
     }
 }
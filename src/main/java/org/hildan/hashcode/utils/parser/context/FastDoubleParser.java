@@ -0,0 +1,287 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.math.BigInteger;
+
+/**
+ * Parses decimal numbers into doubles directly from a sequence of characters, with the same results as {@link
+ * Double#parseDouble(String)}, bit for bit.
+ * <p>
+ * Plain decimal numbers, with an optional exponent and up to 19 significant digits, are converted using the
+ * Eisel-Lemire algorithm (see "Number Parsing at a Gigabyte per Second", Daniel Lemire, 2021), which uses 128-bit
+ * approximations of the powers of 5. The rare cases that this algorithm cannot decide, as well as special values,
+ * hexadecimal notation, subnormal results and overflows, are left to the JDK.
+ */
+public final class FastDoubleParser {
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private static final int MAX_EXPONENT_DIGITS_VALUE = 100_000;
+
+    /**
+     * Max power of ten that is exactly representable as a double.
+     */
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+
+    /**
+     * Max significand that is exactly representable as a double.
+     */
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+            1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+
+    private static final int LARGEST_POWER_OF_TEN = 308;
+
+    private static final int MANTISSA_EXPLICIT_BITS = 52;
+
+    private static final int MINIMUM_EXPONENT = -1023;
+
+    private static final int INFINITE_POWER = 0x7FF;
+
+    private static final int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+
+    private static final int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+
+    /**
+     * The 64 low bits of the product must be masked to keep the 52 + 3 bits needed for the mantissa.
+     */
+    private static final long PRECISION_MASK = 0xFFFFFFFFFFFFFFFFL >>> (MANTISSA_EXPLICIT_BITS + 3);
+
+    /**
+     * The 128-bit approximations of 5^q for q in [{@value #SMALLEST_POWER_OF_TEN}, {@value #LARGEST_POWER_OF_TEN}],
+     * normalized so that the most significant bit is set, as pairs of (high, low) 64-bit words.
+     */
+    private static final long[] POWERS_OF_FIVE_128 = computePowersOfFive();
+
+    private FastDoubleParser() {
+    }
+
+    private static long[] computePowersOfFive() {
+        long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger value;
+            if (q < 0) {
+                // the reciprocal is rounded up, so that the approximation is never below the exact value
+                BigInteger power5 = five.pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 2 * 64;
+                value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+            } else {
+                value = five.pow(q);
+            }
+            int shift = value.bitLength() - 128;
+            value = shift >= 0 ? value.shiftRight(shift) : value.shiftLeft(-shift);
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            table[index] = value.shiftRight(64).longValue();
+            table[index + 1] = value.longValue();
+        }
+        return table;
+    }
+
+    /**
+     * Parses the given string into a double, exactly like {@link Double#parseDouble(String)}.
+     *
+     * @param s
+     *         the string to parse
+     *
+     * @return the parsed double
+     * @throws NumberFormatException
+     *         if the string is not a valid representation of a double
+     * @throws NullPointerException
+     *         if the string is null
+     */
+    public static double parseDouble(String s) throws NumberFormatException {
+        double value = tryParse(s, 0, s.length());
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(s);
+        }
+        return value;
+    }
+
+    /**
+     * Parses the given range of characters into a double if it is a plain decimal number that can be converted
+     * quickly. The result is then the same as {@link Double#parseDouble(String)}. Other inputs, including invalid
+     * ones, must be given to {@link Double#parseDouble(String)}.
+     *
+     * @param chars
+     *         the characters to parse
+     * @param start
+     *         the start index of the number, inclusive
+     * @param end
+     *         the end index of the number, exclusive
+     *
+     * @return the parsed double, or NaN if the input must be parsed by {@link Double#parseDouble(String)}
+     */
+    public static double tryParse(CharSequence chars, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char first = chars.charAt(i);
+            if (first == '-') {
+                negative = true;
+                i++;
+            } else if (first == '+') {
+                i++;
+            }
+        }
+        long significand = 0;
+        int nSignificantDigits = 0;
+        boolean hasDigits = false;
+        boolean seenDot = false;
+        int exponent = 0;
+        for (; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigits = true;
+                if (nSignificantDigits > 0 || c != '0') {
+                    // leading zeros are not significant
+                    if (++nSignificantDigits > MAX_SIGNIFICANT_DIGITS) {
+                        return Double.NaN;
+                    }
+                }
+                significand = significand * 10 + (c - '0');
+                if (seenDot) {
+                    exponent--;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (!hasDigits) {
+            return Double.NaN;
+        }
+        if (i < end) {
+            char c = chars.charAt(i);
+            if (c != 'e' && c != 'E') {
+                // type suffixes and any other format are left to the JDK
+                return Double.NaN;
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+                negativeExponent = chars.charAt(i) == '-';
+                i++;
+            }
+            if (i == end) {
+                return Double.NaN;
+            }
+            int explicitExponent = 0;
+            for (; i < end; i++) {
+                int digit = chars.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return Double.NaN;
+                }
+                if (explicitExponent < MAX_EXPONENT_DIGITS_VALUE) {
+                    explicitExponent = explicitExponent * 10 + digit;
+                }
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        return toDouble(negative, significand, exponent);
+    }
+
+    private static double toDouble(boolean negative, long significand, int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        // 19-digit significands may overflow into the sign bit, they are then handled as unsigned
+        if (significand > 0 && significand <= MAX_EXACT_SIGNIFICAND && exponent >= -MAX_EXACT_POWER_OF_TEN
+                && exponent <= MAX_EXACT_POWER_OF_TEN) {
+            // both operands are exact, so the single rounding of the operation gives the correct result
+            double value = significand;
+            value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        long bits = eiselLemire(significand, exponent);
+        if (bits < 0) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    /**
+     * Computes the bits of the double closest to w * 10^q.
+     *
+     * @return the bits of the positive double, or -1 if the result cannot be computed by this algorithm
+     */
+    private static long eiselLemire(long w, int q) {
+        if (q < SMALLEST_POWER_OF_TEN || q > LARGEST_POWER_OF_TEN) {
+            return -1;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        long normalized = w << lz;
+
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = unsignedMultiplyHigh(normalized, POWERS_OF_FIVE_128[index]);
+        long low = normalized * POWERS_OF_FIVE_128[index];
+        if ((high & PRECISION_MASK) == PRECISION_MASK) {
+            // the truncated bits may matter, the second half of the approximation is taken into account
+            long secondHigh = unsignedMultiplyHigh(normalized, POWERS_OF_FIVE_128[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        if (low == 0xFFFFFFFFFFFFFFFFL && (q < -27 || q > 55)) {
+            // the approximation is not precise enough to decide
+            return -1;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = power(q) + upperBit - lz - MINIMUM_EXPONENT;
+        if (power2 <= 0) {
+            // subnormal numbers are left to the JDK
+            return -1;
+        }
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= MIN_EXPONENT_ROUND_TO_EVEN && q <= MAX_EXPONENT_ROUND_TO_EVEN
+                && (mantissa & 3) == 1 && (mantissa << shift) == high) {
+            // exactly halfway between 2 doubles, round to even instead of rounding up
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_EXPLICIT_BITS)) {
+            mantissa = 1L << MANTISSA_EXPLICIT_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_EXPLICIT_BITS);
+        if (power2 >= INFINITE_POWER) {
+            // overflows are left to the JDK
+            return -1;
+        }
+        return mantissa | ((long) power2 << MANTISSA_EXPLICIT_BITS);
+    }
+
+    /**
+     * Computes floor(log2(10^q)) + 63, using a fixed-point approximation of log2(10) that is exact for the range of
+     * decimal exponents supported here.
+     */
+    private static int power(int q) {
+        return (((152170 + 65536) * q) >> 16) + 63;
+    }
+
+    /**
+     * Computes the 64 high bits of the unsigned 128-bit product of the given unsigned longs.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        long a0 = a & 0xFFFFFFFFL;
+        long a1 = a >>> 32;
+        long b0 = b & 0xFFFFFFFFL;
+        long b1 = b >>> 32;
+        long p00 = a0 * b0;
+        long p01 = a0 * b1;
+        long p10 = a1 * b0;
+        long p11 = a1 * b1;
+        long middle = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+        return p11 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+    }
+}
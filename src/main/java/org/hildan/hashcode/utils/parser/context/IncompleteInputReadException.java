@@ -7,6 +7,10 @@ import org.hildan.hashcode.utils.parser.InputParsingException;
  */
 public class IncompleteInputReadException extends InputParsingException {
 
+    public IncompleteInputReadException() {
+        super("The end of the input was not consumed");
+    }
+
     public IncompleteInputReadException(int nbLinesLeft) {
         super(String.format("The end of the input was not consumed, %s lines remaining", nbLinesLeft));
     }
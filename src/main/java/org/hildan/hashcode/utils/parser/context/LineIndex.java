@@ -0,0 +1,62 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An index of the byte offsets of consecutive items of input spanning a fixed number of lines each, created by {@link
+ * Context#indexNextLines(int, int)}. Each item can then be parsed on demand, in any order, with its own context.
+ * <p>
+ * The index only stores one offset per item, and keeps a reference to the input buffer.
+ */
+public final class LineIndex {
+
+    private final ByteBufferLineNumberScanner scanner;
+
+    private final int[] offsets;
+
+    private final int firstLineNumber;
+
+    private final int linesPerItem;
+
+    private final Context variablesSource;
+
+    LineIndex(ByteBufferLineNumberScanner scanner, int[] offsets, int firstLineNumber, int linesPerItem,
+            Context variablesSource) {
+        this.scanner = scanner;
+        this.offsets = offsets;
+        this.firstLineNumber = firstLineNumber;
+        this.linesPerItem = linesPerItem;
+        this.variablesSource = variablesSource;
+    }
+
+    /**
+     * Gets the number of items in this index.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Creates a new context reading only the lines of the item at the given index. The returned context starts with
+     * the variables that were defined when the index was created. The item should be read completely, which can be
+     * checked with {@link Context#closeChunk()}.
+     *
+     * @param index
+     *         the index of the item to read
+     *
+     * @return a new context reading the given item
+     * @throws IndexOutOfBoundsException
+     *         if the index is out of range
+     */
+    @NotNull
+    public Context open(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int lineNumberOffset = firstLineNumber + index * linesPerItem;
+        ByteBufferLineNumberScanner itemScanner = scanner.slice(offsets[index], offsets[index + 1], lineNumberOffset);
+        return Context.ofChunk(itemScanner, variablesSource, lineNumberOffset + linesPerItem);
+    }
+}
@@ -1,28 +1,40 @@
 package org.hildan.hashcode.utils.parser.context;
 
-import java.io.Closeable;
 import java.io.IOException;
-import java.io.LineNumberReader;
 import java.io.Reader;
 import java.util.Arrays;
 
-import org.hildan.hashcode.utils.parser.InputParsingException;
-import org.jetbrains.annotations.Nullable;
+import org.hildan.hashcode.utils.parser.config.Separator;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * A scanner that is aware of the line numbers and throws exceptions that contain this useful piece of information.
+ * <p>
+ * This implementation reads its input from a {@link Reader}, through an internal character buffer. As for {@link
+ * java.io.LineNumberReader}, a line is considered to be terminated by any one of a line feed ('\n'), a carriage return
+ * ('\r'), or a carriage return followed immediately by a line feed.
  */
-public class LineNumberScanner implements Closeable, AutoCloseable {
+public class LineNumberScanner extends AbstractLineNumberScanner {
 
-    private final LineNumberReader reader;
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
 
-    private final String delimiter;
+    private final Reader reader;
 
-    private String currentLineRaw;
+    private char[] buffer;
 
-    private String[] currentLine;
+    /**
+     * Index of the next character to read in the buffer.
+     */
+    private int position;
+
+    /**
+     * Number of valid characters in the buffer.
+     */
+    private int limit;
+
+    private boolean endOfInput;
 
-    private int nextTokenIndex;
+    private boolean skipLineFeed;
 
     /**
      * Creates a new {@code LineNumberScanner} using the given reader as underlying source.
@@ -30,190 +42,143 @@ public class LineNumberScanner implements Closeable, AutoCloseable {
      * @param reader
      *         the reader to read the data from
      * @param delimiter
-     *         the delimiter to use to identify separate tokens
+     *         the delimiter to use to identify separate tokens, as a regular expression
      */
     public LineNumberScanner(Reader reader, String delimiter) {
-        this.reader = new LineNumberReader(reader);
-        this.reader.setLineNumber(0);
-        this.delimiter = delimiter;
+        this(reader, Separator.regex(delimiter));
     }
 
     /**
-     * Gets the line number of the last token read. If no token has been read yet, the line number is 0. Then the
-     * line numbering is 1-based.
-     * <p>
-     * Note that this method does not move the scanner or consume any input.
+     * Creates a new {@code LineNumberScanner} using the given reader as underlying source.
      *
-     * @return the line number of the last token seen
+     * @param reader
+     *         the reader to read the data from
+     * @param separator
+     *         the separator to use to identify separate tokens
      */
-    public int getLineNumber() {
-        return reader.getLineNumber();
+    public LineNumberScanner(Reader reader, Separator separator) {
+        super(separator);
+        this.reader = reader;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
     }
 
-    /**
-     * Gets the full line containing the last token read. If no token has been read yet, the current line is null.
-     * Even if the last token read is in the middle of the line, the full line is returned from beginning to end.
-     * <p>
-     * Note that this method does not move the scanner or consume any input.
-     *
-     * @return the current line as a string
-     */
-    @Nullable
-    public String getCurrentLine() {
-        return currentLineRaw;
+    @Override
+    protected char charAt(int index) {
+        return buffer[index];
     }
 
-    /**
-     * Scans the next token of the input as a string.
-     *
-     * @return the string scanned from the input
-     *
-     * @throws NoMoreLinesToReadException
-     *         if there is no more lines to read
-     * @throws InputParsingException
-     *         if an error occurs while reading the input
-     */
-    public String nextString() throws InputParsingException {
-        while (!hasMoreTokenInCurrentLine()) {
-            fetchNextLine();
-        }
-        return currentLine[nextTokenIndex++];
+    @NotNull
+    @Override
+    protected String substring(int start, int end) {
+        return new String(buffer, start, end - start);
     }
 
-    /**
-     * Scans the next token of the input as an int.
-     *
-     * @return the int scanned from the input
-     *
-     * @throws NoMoreLinesToReadException
-     *         if there is no more lines to read
-     * @throws InputParsingException
-     *         if the input could not be parsed as an int
-     */
-    public int nextInt() throws InputParsingException {
-        String value = nextString();
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            throw new InputParsingException(getLineNumber(), "expected int, got '" + value + "'", e);
+    @Override
+    protected boolean advanceToNextLine() throws IOException {
+        if (skipLineFeed) {
+            if (position == limit) {
+                fill();
+            }
+            if (position < limit && buffer[position] == '\n') {
+                position++;
+            }
+            skipLineFeed = false;
         }
-    }
-
-    /**
-     * Scans the next token of the input as a double.
-     *
-     * @return the double scanned from the input
-     *
-     * @throws NoMoreLinesToReadException
-     *         if there is no more lines to read
-     * @throws InputParsingException
-     *         if the input could not be parsed as an int
-     */
-    public double nextDouble() throws InputParsingException {
-        String value = nextString();
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException e) {
-            throw new InputParsingException(getLineNumber(), "expected double, got '" + value + "'", e);
+        int scanFrom = position;
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    lineStart = position;
+                    lineEnd = i;
+                    position = i + 1;
+                    skipLineFeed = c == '\r';
+                    return true;
+                }
+            }
+            int nScanned = limit - position;
+            if (!fill()) {
+                break;
+            }
+            scanFrom = position + nScanned;
         }
+        if (position == limit) {
+            return false;
+        }
+        // last line without terminator
+        lineStart = position;
+        lineEnd = limit;
+        position = limit;
+        return true;
     }
 
     /**
-     * Reads and returns the next line of input.
-     *
-     * @return the next line of input
-     *
-     * @throws IncompleteLineReadException
-     *         if the previous line was not completely consumed
-     * @throws NoMoreLinesToReadException
-     *         if there is no more lines to read
-     * @throws InputParsingException
-     *         if an error occurs while reading the input
-     */
-    public String nextLine() throws InputParsingException {
-        fetchNextLine();
-        // mark current line as consumed
-        nextTokenIndex = currentLine.length;
-        return currentLineRaw;
-    }
-
-    /**
-     * Reads and returns the next line of input as an array of string tokens.
+     * Reads more input into the buffer, keeping the unread characters. This may move the unread characters at the
+     * beginning of the buffer, or grow the buffer if it is already full of unread characters.
      *
-     * @return the next line of input
+     * @return true if some characters were read, false if the end of the input has been reached
      *
-     * @throws IncompleteLineReadException
-     *         if the previous line was not completely consumed
-     * @throws NoMoreLinesToReadException
-     *         if there is no more lines to read
-     * @throws InputParsingException
-     *         if an error occurs while reading the input
+     * @throws IOException
+     *         if an error occurred while reading
      */
-    public String[] nextLineTokens() throws InputParsingException {
-        fetchNextLine();
-        // mark current line as consumed
-        nextTokenIndex = currentLine.length;
-        return currentLine;
-    }
-
-    private boolean hasMoreTokenInCurrentLine() {
-        return currentLine != null && nextTokenIndex < currentLine.length;
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int unread = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, unread);
+        } else if (unread == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        position = 0;
+        limit = unread;
+        int nRead = reader.read(buffer, limit, buffer.length - limit);
+        if (nRead < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += nRead;
+        return true;
     }
 
-    private void fetchNextLine() throws InputParsingException {
-        try {
-            if (hasMoreTokenInCurrentLine()) {
-                throw new IncompleteLineReadException(getLineNumber(), remainingInputOnCurrentLine());
-            }
-            currentLineRaw = reader.readLine();
-            if (currentLineRaw == null) {
-                throw new NoMoreLinesToReadException();
+    @Override
+    protected int consumeAndCountRemainingLines() throws IOException {
+        int nbLinesLeft = 0;
+        while (advanceToNextLine()) {
+            if (!isBlank(lineStart, lineEnd)) {
+                nbLinesLeft++;
             }
-            currentLine = currentLineRaw.isEmpty() ? new String[0] : currentLineRaw.split(delimiter, -1);
-            nextTokenIndex = 0;
-        } catch (IOException e) {
-            throw new InputParsingException("An error occurred while reading the input", e);
         }
-    }
-
-    private String remainingInputOnCurrentLine() {
-        return String.join(" ", remainingTokens());
-    }
-
-    private String[] remainingTokens() {
-        return Arrays.copyOfRange(currentLine, nextTokenIndex, currentLine.length);
+        return nbLinesLeft;
     }
 
     @Override
-    public void close() {
-        try {
-            int nbLinesLeft = consumeAndCountRemainingLines();
-            if (nbLinesLeft > 0) {
-                throw new IncompleteInputReadException(nbLinesLeft);
+    protected boolean hasRemainingNonBlankInput() throws IOException {
+        do {
+            for (int i = position; i < limit; i++) {
+                // same definition as String.trim()
+                if (buffer[i] > ' ') {
+                    return true;
+                }
             }
-        } catch (IOException e) {
-            throw new InputParsingException("An error occurred while consuming the end of the input", e);
-        } finally {
-            safeClose();
-        }
+            position = limit;
+        } while (fill());
+        return false;
     }
 
-    private int consumeAndCountRemainingLines() throws IOException {
-        int nbLinesLeft = 0;
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (!line.trim().isEmpty()) {
-                nbLinesLeft++;
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            // same definition as String.trim()
+            if (buffer[i] > ' ') {
+                return false;
             }
         }
-        return nbLinesLeft;
+        return true;
     }
 
-    private void safeClose() {
-        try {
-            reader.close();
-        } catch (IOException ignored) {
-            // ignored exception
-        }
+    @Override
+    protected void releaseResources() throws IOException {
+        reader.close();
     }
 }
@@ -0,0 +1,234 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view of the tokens of the last line read with {@link Context#readLineView()}, directly over the input buffer of the
+ * scanner.
+ * <p>
+ * The tokens are converted on demand, without creating any string nor array, and the same view is reused for every
+ * line of a given input: it always shows the last line read with {@link Context#readLineView()}. Using the view after
+ * the context has read past this line by other means, or using a token sequence of a previous line, throws an {@link
+ * IllegalStateException}.
+ */
+public final class LineView {
+
+    private final AbstractLineNumberScanner scanner;
+
+    private int lineNumber;
+
+    private TokenSequence[] tokenSequences = new TokenSequence[0];
+
+    LineView(AbstractLineNumberScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * Binds this view to the current line of the scanner.
+     */
+    void bind() {
+        this.lineNumber = scanner.getLineNumber();
+    }
+
+    /**
+     * Gets the line number of the line of this view.
+     *
+     * @return the line number of this view
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets the number of tokens on the line.
+     *
+     * @return the number of tokens on the line
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     */
+    public int tokenCount() {
+        checkValid();
+        return scanner.tokenCount();
+    }
+
+    /**
+     * Gets the characters of the token at the given index, without creating a string. The returned sequence is only
+     * valid as long as this view. For byte inputs, non-ASCII characters appear as their individual UTF-8 bytes, use
+     * {@link #stringAt(int)} to get them decoded.
+     *
+     * @param index
+     *         the index of the token on the line
+     *
+     * @return the characters of the token
+     * @throws IndexOutOfBoundsException
+     *         if there is no token at the given index
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     */
+    @NotNull
+    public CharSequence tokenAt(int index) {
+        checkIndex(index);
+        if (index >= tokenSequences.length) {
+            growTokenSequences(index + 1);
+        }
+        TokenSequence token = tokenSequences[index];
+        token.lineNumber = lineNumber;
+        token.start = scanner.tokenStart(index);
+        token.end = scanner.tokenEnd(index);
+        return token;
+    }
+
+    private void growTokenSequences(int minLength) {
+        TokenSequence[] newSequences = new TokenSequence[Math.max(minLength, 2 * tokenSequences.length)];
+        System.arraycopy(tokenSequences, 0, newSequences, 0, tokenSequences.length);
+        for (int i = tokenSequences.length; i < newSequences.length; i++) {
+            newSequences[i] = new TokenSequence();
+        }
+        tokenSequences = newSequences;
+    }
+
+    /**
+     * Gets the token at the given index as a string.
+     *
+     * @param index
+     *         the index of the token on the line
+     *
+     * @return the token as a new string
+     * @throws IndexOutOfBoundsException
+     *         if there is no token at the given index
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     */
+    @NotNull
+    public String stringAt(int index) {
+        checkIndex(index);
+        return scanner.substring(scanner.tokenStart(index), scanner.tokenEnd(index));
+    }
+
+    /**
+     * Parses the token at the given index as an int.
+     *
+     * @param index
+     *         the index of the token on the line
+     *
+     * @return the parsed int
+     * @throws IndexOutOfBoundsException
+     *         if there is no token at the given index
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     * @throws InputParsingException
+     *         if the token could not be parsed as an int
+     */
+    public int intAt(int index) throws InputParsingException {
+        checkIndex(index);
+        return scanner.parseInt(scanner.tokenStart(index), scanner.tokenEnd(index));
+    }
+
+    /**
+     * Parses the token at the given index as a long.
+     *
+     * @param index
+     *         the index of the token on the line
+     *
+     * @return the parsed long
+     * @throws IndexOutOfBoundsException
+     *         if there is no token at the given index
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     * @throws InputParsingException
+     *         if the token could not be parsed as a long
+     */
+    public long longAt(int index) throws InputParsingException {
+        checkIndex(index);
+        return scanner.parseLong(scanner.tokenStart(index), scanner.tokenEnd(index));
+    }
+
+    /**
+     * Parses the token at the given index as a double.
+     *
+     * @param index
+     *         the index of the token on the line
+     *
+     * @return the parsed double
+     * @throws IndexOutOfBoundsException
+     *         if there is no token at the given index
+     * @throws IllegalStateException
+     *         if the context has moved past the line of this view
+     * @throws InputParsingException
+     *         if the token could not be parsed as a double
+     */
+    public double doubleAt(int index) throws InputParsingException {
+        checkIndex(index);
+        return scanner.parseDouble(scanner.tokenStart(index), scanner.tokenEnd(index));
+    }
+
+    private void checkValid() {
+        checkValid(lineNumber);
+    }
+
+    private void checkValid(int expectedLineNumber) {
+        if (scanner.getLineNumber() != expectedLineNumber) {
+            throw new IllegalStateException("A view of line " + expectedLineNumber + " was used after reading line "
+                    + scanner.getLineNumber());
+        }
+    }
+
+    private void checkIndex(int index) {
+        int count = tokenCount();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("No token at index " + index + " on line " + lineNumber + ", only "
+                    + count + " tokens");
+        }
+    }
+
+    /**
+     * Gets the full line of this view.
+     *
+     * @return the line of this view
+     */
+    @Override
+    public String toString() {
+        checkValid();
+        return scanner.getCurrentLine();
+    }
+
+    /**
+     * The characters of a token of the current line, read from the buffer of the scanner.
+     */
+    private class TokenSequence implements CharSequence {
+
+        private int lineNumber;
+
+        private int start;
+
+        private int end;
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkValid(lineNumber);
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of token of length " + (end - start));
+            }
+            return scanner.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            checkValid(lineNumber);
+            return scanner.substring(this.start + start, this.start + end);
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            checkValid(lineNumber);
+            return scanner.substring(start, end);
+        }
+    }
+}
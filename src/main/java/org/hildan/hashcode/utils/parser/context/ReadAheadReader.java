@@ -0,0 +1,248 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Reader} that reads its source on a background thread, ahead of the consumer.
+ * <p>
+ * The source is read into 2 blocks of characters: while the consumer reads one block, the producer thread fills the
+ * other one. This overlaps the I/O and decoding of the source (slow disks, network mounts, decompression...) with the
+ * work of the consumer, typically tokenizing and converting the input.
+ * <p>
+ * The source is only ever read and closed by the producer thread. Closing this reader signals the producer, which
+ * closes the source as soon as it is done with its current read. The producer does not keep this reader reachable, so
+ * it also stops and closes the source if this reader is dropped without being closed.
+ */
+class ReadAheadReader extends Reader {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final int NB_BLOCKS = 2;
+
+    private static final long ABANDON_CHECK_PERIOD_MS = 1000;
+
+    private static final long CLOSE_TIMEOUT_MS = 1000;
+
+    private final Producer producer;
+
+    private final Thread producerThread;
+
+    private Block current;
+
+    private int position;
+
+    /**
+     * A block of characters read from the source, or the end of the source, or an error.
+     */
+    private static class Block {
+
+        private final char[] chars = new char[BLOCK_SIZE];
+
+        private int length;
+
+        private boolean endOfInput;
+
+        private Throwable error;
+    }
+
+    /**
+     * The state shared with the producer thread. It only references the reader weakly, so that a reader which is never
+     * closed can still be garbage collected, and its producer stopped.
+     */
+    private static class Producer implements Runnable {
+
+        private final Reader source;
+
+        private final BlockingQueue<Block> freeBlocks = new ArrayBlockingQueue<>(NB_BLOCKS);
+
+        private final BlockingQueue<Block> filledBlocks = new ArrayBlockingQueue<>(NB_BLOCKS);
+
+        private final WeakReference<ReadAheadReader> owner;
+
+        private volatile boolean closed;
+
+        private volatile IOException closeError;
+
+        Producer(Reader source, ReadAheadReader owner) {
+            this.source = source;
+            this.owner = new WeakReference<>(owner);
+            for (int i = 0; i < NB_BLOCKS; i++) {
+                freeBlocks.add(new Block());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                boolean endOfInput = false;
+                while (!endOfInput && !closed) {
+                    Block block = takeFreeBlock();
+                    if (block == null) {
+                        return;
+                    }
+                    fill(block);
+                    endOfInput = block.endOfInput || block.error != null;
+                    if (!publish(block)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                // the producer thread was interrupted from outside, stop reading ahead
+            } finally {
+                closeSource();
+            }
+        }
+
+        private Block takeFreeBlock() throws InterruptedException {
+            Block block;
+            while ((block = freeBlocks.poll(ABANDON_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS)) == null) {
+                if (isAbandoned()) {
+                    return null;
+                }
+            }
+            return block;
+        }
+
+        private boolean publish(Block block) throws InterruptedException {
+            while (!filledBlocks.offer(block, ABANDON_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                if (isAbandoned()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isAbandoned() {
+            return closed || owner.get() == null;
+        }
+
+        @SuppressWarnings("checkstyle:illegalcatch")
+        private void fill(Block block) {
+            block.length = 0;
+            try {
+                while (block.length < BLOCK_SIZE && !closed) {
+                    int nRead = source.read(block.chars, block.length, BLOCK_SIZE - block.length);
+                    if (nRead < 0) {
+                        block.endOfInput = true;
+                        return;
+                    }
+                    block.length += nRead;
+                }
+            } catch (Throwable e) {
+                // anything thrown by the source is handed over to the consumer, which would otherwise wait forever
+                block.error = e;
+            }
+        }
+
+        private void closeSource() {
+            try {
+                source.close();
+            } catch (IOException e) {
+                closeError = e;
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@code ReadAheadReader} and starts reading the given source in the background.
+     *
+     * @param source
+     *         the reader to read ahead
+     */
+    ReadAheadReader(Reader source) {
+        this.producer = new Producer(source, this);
+        this.producerThread = new Thread(producer, "hashcode-utils-read-ahead");
+        this.producerThread.setDaemon(true);
+        this.producerThread.start();
+    }
+
+    @Override
+    public int read(@NotNull char[] cbuf, int off, int len) throws IOException {
+        if (producer.closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (current == null || position == current.length) {
+            if (current != null) {
+                if (current.error != null) {
+                    throw rethrow(current.error);
+                }
+                if (current.endOfInput) {
+                    return -1;
+                }
+                producer.freeBlocks.add(current);
+            }
+            current = takeFilledBlock();
+            position = 0;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current.chars, position, cbuf, off, n);
+        position += n;
+        return n;
+    }
+
+    private static IOException rethrow(Throwable error) throws IOException {
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return new IOException("An error occurred while reading the input", error);
+    }
+
+    private Block takeFilledBlock() throws InterruptedIOException {
+        try {
+            return producer.filledBlocks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the input");
+        }
+    }
+
+    /**
+     * Stops the producer thread and waits a bounded time for it to close the source. If the producer is still blocked
+     * in a read of the source after that time, it closes the source itself as soon as the read returns.
+     *
+     * @throws IOException
+     *         if the source failed to close within the wait time
+     */
+    @Override
+    public void close() throws IOException {
+        if (producer.closed) {
+            return;
+        }
+        producer.closed = true;
+        // hand all blocks back to the producer, so that it cannot stay blocked on a queue and sees the closed flag
+        if (current != null) {
+            producer.freeBlocks.offer(current);
+            current = null;
+        }
+        Block block;
+        while ((block = producer.filledBlocks.poll()) != null) {
+            producer.freeBlocks.offer(block);
+        }
+        try {
+            producerThread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the input");
+        }
+        if (producer.closeError != null) {
+            throw producer.closeError;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+
+/**
+ * Thrown if a token of the input could not be converted to the expected primitive type.
+ */
+public class TokenConversionException extends InputParsingException {
+
+    private final String token;
+
+    public TokenConversionException(int lineNum, String token, String expectedType, Throwable cause) {
+        super(lineNum, "expected " + expectedType + ", got '" + token + "'", cause);
+        this.token = token;
+    }
+
+    /**
+     * Gets the token that could not be converted.
+     *
+     * @return the invalid token
+     */
+    public String getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,95 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A context variable name resolved into an index in the variable storage of a {@link Context}.
+ * <p>
+ * Slots are meant to be resolved once, when the readers are built, so that accessing a variable while parsing is a
+ * simple array access instead of a lookup by name. A given name is always resolved to the same slot, so that readers
+ * built independently share the same variables.
+ */
+public final class VariableSlot {
+
+    private static final ConcurrentMap<String, VariableSlot> SLOTS_BY_NAME = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger SLOTS_COUNT = new AtomicInteger();
+
+    private final String name;
+
+    private final int index;
+
+    private VariableSlot(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Gets the slot of the variable with the given name, allocating a new slot if the name has never been used.
+     *
+     * @param name
+     *         the name of the variable
+     *
+     * @return the slot of the given variable
+     */
+    @NotNull
+    public static VariableSlot of(@NotNull String name) {
+        VariableSlot slot = SLOTS_BY_NAME.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        return SLOTS_BY_NAME.computeIfAbsent(name, n -> new VariableSlot(n, SLOTS_COUNT.getAndIncrement()));
+    }
+
+    /**
+     * Gets the slot of the variable with the given name, if the name has already been used. Contrary to {@link
+     * #of(String)}, this never allocates a new slot, so that looking up unknown names does not consume slots.
+     *
+     * @param name
+     *         the name of the variable
+     *
+     * @return the slot of the given variable, or null if no slot was allocated for this name
+     */
+    @Nullable
+    static VariableSlot find(@NotNull String name) {
+        return SLOTS_BY_NAME.get(name);
+    }
+
+    /**
+     * Gets the number of slots allocated so far, which is an upper bound for the index of existing slots.
+     *
+     * @return the number of allocated slots
+     */
+    static int count() {
+        return SLOTS_COUNT.get();
+    }
+
+    /**
+     * Gets the name of the variable stored in this slot.
+     *
+     * @return the name of the variable
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the index of this slot in the variable storage.
+     *
+     * @return the index of this slot
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + index;
+    }
+}
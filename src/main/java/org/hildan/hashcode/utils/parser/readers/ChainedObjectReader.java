@@ -0,0 +1,43 @@
+package org.hildan.hashcode.utils.parser.readers;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link ObjectReader} that creates an object using a previous reader, and then updates it with a {@link
+ * SectionReader}. This is the result of {@link ObjectReader#then(SectionReader)}, and keeps track of both parts so that
+ * {@link ReaderCompiler} can flatten a chain of such readers.
+ *
+ * @param <T>
+ *         the type of object this reader creates
+ */
+final class ChainedObjectReader<T> implements ObjectReader<T> {
+
+    private final ObjectReader<T> previous;
+
+    private final SectionReader<? super T> section;
+
+    ChainedObjectReader(ObjectReader<T> previous, SectionReader<? super T> section) {
+        this.previous = previous;
+        this.section = section;
+    }
+
+    ObjectReader<T> getPrevious() {
+        return previous;
+    }
+
+    SectionReader<? super T> getSection() {
+        return section;
+    }
+
+    @Nullable
+    @Override
+    public T read(@NotNull Context context) throws InputParsingException {
+        T obj = previous.read(context);
+        section.readAndSet(context, obj);
+        return obj;
+    }
+}
@@ -0,0 +1,130 @@
+package org.hildan.hashcode.utils.parser.readers;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
+import org.hildan.hashcode.utils.parser.reflect.FieldSetter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link ObjectReader} executing a flat parse plan built by {@link ReaderCompiler}. The object is created by the
+ * first reader of the chain, and then updated by a sequence of instructions interpreted in a single loop, instead of
+ * going through one nested reader per {@link ObjectReader#then(SectionReader)} call.
+ * <p>
+ * Fields and variables are handled by dedicated instructions, which call the {@link FieldSetter} of the field and the
+ * {@link Context} directly. The remaining sections, including the ones reading child objects (compiled recursively),
+ * are kept as {@link SectionReader} instructions.
+ *
+ * @param <T>
+ *         the type of object this reader creates
+ */
+final class CompiledObjectReader<T> implements ObjectReader<T> {
+
+    static final byte READ_VARIABLE = 0;
+
+    static final byte SKIP = 1;
+
+    static final byte READ_FIELD = 2;
+
+    static final byte READ_FIELD_AND_VARIABLE = 3;
+
+    static final byte READ_SECTION = 4;
+
+    private final ObjectReader<T> constructor;
+
+    private final byte[] opcodes;
+
+    private final VariableSlot[] variables;
+
+    private final String[] fieldNames;
+
+    private final SectionReader<Object>[] sections;
+
+    private SetterCache setterCache;
+
+    /**
+     * The setters of the fields of the plan, resolved lazily for a given class of object.
+     */
+    private static class SetterCache {
+
+        private final Class<?> clazz;
+
+        private final FieldSetter[] setters;
+
+        SetterCache(Class<?> clazz, int nbInstructions) {
+            this.clazz = clazz;
+            this.setters = new FieldSetter[nbInstructions];
+        }
+    }
+
+    /**
+     * Creates a new {@code CompiledObjectReader}. The operands of each instruction are at the same index as the
+     * corresponding opcode, in the array matching their type.
+     *
+     * @param constructor
+     *         the reader creating the object to update
+     * @param opcodes
+     *         the instructions to execute on the created object, in order
+     * @param variables
+     *         the variables read by the instructions
+     * @param fieldNames
+     *         the fields set by the instructions
+     * @param sections
+     *         the sections read by the {@link #READ_SECTION} instructions
+     */
+    CompiledObjectReader(ObjectReader<T> constructor, byte[] opcodes, VariableSlot[] variables, String[] fieldNames,
+            SectionReader<Object>[] sections) {
+        this.constructor = constructor;
+        this.opcodes = opcodes;
+        this.variables = variables;
+        this.fieldNames = fieldNames;
+        this.sections = sections;
+    }
+
+    @Nullable
+    @Override
+    public T read(@NotNull Context context) throws InputParsingException {
+        T obj = constructor.read(context);
+        for (int i = 0; i < opcodes.length; i++) {
+            switch (opcodes[i]) {
+            case READ_VARIABLE:
+                context.readIntoVariable(variables[i]);
+                break;
+            case SKIP:
+                context.skip(1);
+                break;
+            case READ_FIELD:
+                getSetter(i, obj).readAndSet(context, obj);
+                break;
+            case READ_FIELD_AND_VARIABLE:
+                context.readIntoVariable(variables[i]);
+                getSetter(i, obj).setFromVariable(context, variables[i], obj);
+                break;
+            default:
+                sections[i].readAndSet(context, obj);
+                break;
+            }
+        }
+        return obj;
+    }
+
+    @NotNull
+    private FieldSetter getSetter(int index, @Nullable Object obj) {
+        if (obj == null) {
+            throw new InputParsingException("Cannot set field '" + fieldNames[index] + "' on a null object");
+        }
+        SetterCache cache = setterCache;
+        if (cache == null || cache.clazz != obj.getClass()) {
+            cache = new SetterCache(obj.getClass(), opcodes.length);
+            setterCache = cache;
+        }
+        FieldSetter setter = cache.setters[index];
+        if (setter == null) {
+            setter = FieldSetter.of(cache.clazz, fieldNames[index]);
+            cache.setters[index] = setter;
+        }
+        return setter;
+    }
+}
@@ -3,10 +3,13 @@ package org.hildan.hashcode.utils.parser.readers;
 import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
 import org.hildan.hashcode.utils.parser.readers.constructors.Int2Constructor;
 import org.hildan.hashcode.utils.parser.readers.constructors.Int3Constructor;
 import org.hildan.hashcode.utils.parser.readers.constructors.Int4Constructor;
@@ -42,11 +45,43 @@ public class HCReader {
      *         the type of objects that the new {@link ObjectReader} should create
      *
      * @return a new {@link ObjectReader}
+     * @deprecated the integer is boxed to call the constructor, use {@link #createFromIntValue(IntFunction)} instead
      */
+    @Deprecated
     public static <T> ObjectReader<T> createFromInt(Function<Integer, ? extends T> constructor) {
+        return createFromIntValue(constructor::apply);
+    }
+
+    /**
+     * Creates a new {@link ObjectReader} that creates objects using the given constructor. This reader reads an integer
+     * from the input in order to call the given constructor, without boxing it.
+     *
+     * @param constructor
+     *         the constructor to use to create new instances
+     * @param <T>
+     *         the type of objects that the new {@link ObjectReader} should create
+     *
+     * @return a new {@link ObjectReader}
+     */
+    public static <T> ObjectReader<T> createFromIntValue(IntFunction<? extends T> constructor) {
         return ctx -> constructor.apply(ctx.readInt());
     }
 
+    /**
+     * Creates a new {@link ObjectReader} that creates objects using the given constructor. This reader reads a long
+     * from the input in order to call the given constructor.
+     *
+     * @param constructor
+     *         the constructor to use to create new instances
+     * @param <T>
+     *         the type of objects that the new {@link ObjectReader} should create
+     *
+     * @return a new {@link ObjectReader}
+     */
+    public static <T> ObjectReader<T> createFromLongValue(LongFunction<? extends T> constructor) {
+        return ctx -> constructor.apply(ctx.readLong());
+    }
+
     /**
      * Creates a new {@link ObjectReader} that creates objects using the given constructor. This reader reads 2 integers
      * from the input in order to call the given constructor.
@@ -218,9 +253,50 @@ public class HCReader {
          *         the type of objects that the new {@link ObjectReader} should create
          *
          * @return a new {@link ObjectReader}
+         * @deprecated the value of the variable is boxed to call the constructor, use {@link
+         * #createFromIntVar(IntFunction, String)} instead
          */
+        @Deprecated
         public <T> ObjectReader<T> createFromVar(Function<Integer, T> constructor, String varName) {
-            return of(ctx -> constructor.apply(ctx.getVariableAsInt(varName)));
+            return createFromIntVar(constructor::apply, varName);
+        }
+
+        /**
+         * Creates a new {@link ObjectReader} that creates objects with the given constructor. The argument passed to
+         * the constructor is taken from the given context variable as an int, without boxing it. The variable must be
+         * set up front via {@link HCReader#withVars(String...)}.
+         *
+         * @param constructor
+         *         the constructor to use to create new instances
+         * @param varName
+         *         the variable to use as parameter to the given constructor
+         * @param <T>
+         *         the type of objects that the new {@link ObjectReader} should create
+         *
+         * @return a new {@link ObjectReader}
+         */
+        public <T> ObjectReader<T> createFromIntVar(IntFunction<T> constructor, String varName) {
+            VariableSlot slot = VariableSlot.of(varName);
+            return of(ctx -> constructor.apply(ctx.getVariableAsInt(slot)));
+        }
+
+        /**
+         * Creates a new {@link ObjectReader} that creates objects with the given constructor. The argument passed to
+         * the constructor is taken from the given context variable as a long, that must be set up front via {@link
+         * HCReader#withVars(String...)}.
+         *
+         * @param constructor
+         *         the constructor to use to create new instances
+         * @param varName
+         *         the variable to use as parameter to the given constructor
+         * @param <T>
+         *         the type of objects that the new {@link ObjectReader} should create
+         *
+         * @return a new {@link ObjectReader}
+         */
+        public <T> ObjectReader<T> createFromLongVar(LongFunction<T> constructor, String varName) {
+            VariableSlot slot = VariableSlot.of(varName);
+            return of(ctx -> constructor.apply(ctx.getVariableAsLong(slot)));
         }
 
         /**
@@ -241,7 +317,9 @@ public class HCReader {
          * @return a new {@link ObjectReader}
          */
         public <T> ObjectReader<T> createFrom2Vars(Int2Constructor<T> constructor, String var1, String var2) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2)));
         }
 
         /**
@@ -265,8 +343,11 @@ public class HCReader {
          */
         public <T> ObjectReader<T> createFrom3Vars(Int3Constructor<T> constructor, String var1, String var2,
                 String var3) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2),
-                    ctx.getVariableAsInt(var3)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            VariableSlot slot3 = VariableSlot.of(var3);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2),
+                    ctx.getVariableAsInt(slot3)));
         }
 
         /**
@@ -292,8 +373,12 @@ public class HCReader {
          */
         public <T> ObjectReader<T> createFrom4Vars(Int4Constructor<T> constructor, String var1, String var2,
                 String var3, String var4) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2),
-                    ctx.getVariableAsInt(var3), ctx.getVariableAsInt(var4)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            VariableSlot slot3 = VariableSlot.of(var3);
+            VariableSlot slot4 = VariableSlot.of(var4);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2),
+                    ctx.getVariableAsInt(slot3), ctx.getVariableAsInt(slot4)));
         }
 
         /**
@@ -321,8 +406,13 @@ public class HCReader {
          */
         public <T> ObjectReader<T> createFrom5Vars(Int5Constructor<T> constructor, String var1, String var2,
                 String var3, String var4, String var5) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2),
-                    ctx.getVariableAsInt(var3), ctx.getVariableAsInt(var4), ctx.getVariableAsInt(var5)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            VariableSlot slot3 = VariableSlot.of(var3);
+            VariableSlot slot4 = VariableSlot.of(var4);
+            VariableSlot slot5 = VariableSlot.of(var5);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2),
+                    ctx.getVariableAsInt(slot3), ctx.getVariableAsInt(slot4), ctx.getVariableAsInt(slot5)));
         }
 
         /**
@@ -352,9 +442,15 @@ public class HCReader {
          */
         public <T> ObjectReader<T> createFrom6Vars(Int6Constructor<T> constructor, String var1, String var2,
                 String var3, String var4, String var5, String var6) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2),
-                    ctx.getVariableAsInt(var3), ctx.getVariableAsInt(var4), ctx.getVariableAsInt(var5),
-                    ctx.getVariableAsInt(var6)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            VariableSlot slot3 = VariableSlot.of(var3);
+            VariableSlot slot4 = VariableSlot.of(var4);
+            VariableSlot slot5 = VariableSlot.of(var5);
+            VariableSlot slot6 = VariableSlot.of(var6);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2),
+                    ctx.getVariableAsInt(slot3), ctx.getVariableAsInt(slot4), ctx.getVariableAsInt(slot5),
+                    ctx.getVariableAsInt(slot6)));
         }
 
         /**
@@ -386,9 +482,16 @@ public class HCReader {
          */
         public <T> ObjectReader<T> createFrom7Vars(Int7Constructor<T> constructor, String var1, String var2,
                 String var3, String var4, String var5, String var6, String var7) {
-            return of(ctx -> constructor.create(ctx.getVariableAsInt(var1), ctx.getVariableAsInt(var2),
-                    ctx.getVariableAsInt(var3), ctx.getVariableAsInt(var4), ctx.getVariableAsInt(var5),
-                    ctx.getVariableAsInt(var6), ctx.getVariableAsInt(var7)));
+            VariableSlot slot1 = VariableSlot.of(var1);
+            VariableSlot slot2 = VariableSlot.of(var2);
+            VariableSlot slot3 = VariableSlot.of(var3);
+            VariableSlot slot4 = VariableSlot.of(var4);
+            VariableSlot slot5 = VariableSlot.of(var5);
+            VariableSlot slot6 = VariableSlot.of(var6);
+            VariableSlot slot7 = VariableSlot.of(var7);
+            return of(ctx -> constructor.create(ctx.getVariableAsInt(slot1), ctx.getVariableAsInt(slot2),
+                    ctx.getVariableAsInt(slot3), ctx.getVariableAsInt(slot4), ctx.getVariableAsInt(slot5),
+                    ctx.getVariableAsInt(slot6), ctx.getVariableAsInt(slot7)));
         }
 
         /**
@@ -407,8 +510,12 @@ public class HCReader {
          * @return a new {@link ObjectReader}
          */
         public <T> ObjectReader<T> createFromVars(IntArrayConstructor<T> constructor, String... vars) {
+            VariableSlot[] slots = Arrays.stream(vars).map(VariableSlot::of).toArray(VariableSlot[]::new);
             return of(ctx -> {
-                int[] params = Arrays.stream(vars).mapToInt(ctx::getVariableAsInt).toArray();
+                int[] params = new int[slots.length];
+                for (int i = 0; i < slots.length; i++) {
+                    params[i] = ctx.getVariableAsInt(slots[i]);
+                }
                 return constructor.create(params);
             });
         }
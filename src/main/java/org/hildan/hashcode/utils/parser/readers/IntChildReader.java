@@ -0,0 +1,32 @@
+package org.hildan.hashcode.utils.parser.readers;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A specialization of {@link ChildReader} that reads a primitive int from the current {@link Context}, consuming as
+ * much input as necessary, without boxing.
+ *
+ * @param <P>
+ *         the type of parent that the read values are part of
+ */
+@FunctionalInterface
+public interface IntChildReader<P> {
+
+    /**
+     * Reads a int from the given {@link Context}, consuming as much input as necessary.
+     *
+     * @param context
+     *         the context to read lines from
+     * @param parent
+     *         the parent object within which the value is being read
+     *
+     * @return the read value
+     *
+     * @throws InputParsingException
+     *         if something went wrong when reading the input
+     */
+    int read(@NotNull Context context, @Nullable P parent) throws InputParsingException;
+}
@@ -9,9 +9,23 @@ import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 
+import org.hildan.hashcode.utils.collections.BitGrid;
+import org.hildan.hashcode.utils.collections.CharGrid;
+import org.hildan.hashcode.utils.collections.CsrGraph;
+import org.hildan.hashcode.utils.collections.IntIntMap;
+import org.hildan.hashcode.utils.collections.IntLongMap;
+import org.hildan.hashcode.utils.collections.StringDictionary;
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.readers.container.ColumnTable;
+import org.hildan.hashcode.utils.parser.readers.container.ColumnarReader;
+import org.hildan.hashcode.utils.parser.readers.container.ContainerReader;
+import org.hildan.hashcode.utils.parser.readers.container.CsrReader;
 import org.hildan.hashcode.utils.parser.readers.line.LineReader;
 import org.hildan.hashcode.utils.parser.readers.section.FieldAndVarReader;
 import org.hildan.hashcode.utils.parser.readers.section.FieldsAndVarsReader;
@@ -68,11 +82,7 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      * @return the resulting new {@link ObjectReader}
      */
     default ObjectReader<T> then(SectionReader<? super T> sectionReader) {
-        return ctx -> {
-            T obj = read(ctx);
-            sectionReader.readAndSet(ctx, obj);
-            return obj;
-        };
+        return new ChainedObjectReader<>(this, sectionReader);
     }
 
     /**
@@ -86,11 +96,7 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      * @return the resulting new {@link ObjectReader}
      */
     default ObjectReader<T> then(Consumer<Context> consumer) {
-        return ctx -> {
-            T obj = read(ctx);
-            consumer.accept(ctx);
-            return obj;
-        };
+        return then((ctx, obj) -> consumer.accept(ctx));
     }
 
     /**
@@ -106,6 +112,35 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
         return then(ctx -> ctx.skip(n));
     }
 
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then skips the next n lines
+     * of the input without parsing them. The current line must have been completely consumed.
+     *
+     * @param n
+     *         the number of lines to skip
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenSkipLines(int n) {
+        return then(ctx -> ctx.skipLines(n));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then skips the next N lines
+     * of the input without parsing them. N will be read at parsing time from the current value of the given context
+     * variable, which needs to be previously set. This is typically used to ignore a section of the input that is not
+     * needed by the solver, like an array of single-line items.
+     *
+     * @param sizeVariable
+     *         a context variable that will contain the number of lines to skip
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenSkipLines(String sizeVariable) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(ctx -> ctx.skipLines(ctx.getVariableAsInt(size)));
+    }
+
     /**
      * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads one token from the
      * input and stores it into the given variable.
@@ -130,7 +165,7 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      * @return the resulting new {@link ObjectReader}
      */
     default ObjectReader<T> thenVars(String... variableNames) {
-        return then(new VariableReader(variableNames));
+        return then(new VariableReader(variableNames).asSection());
     }
 
     /**
@@ -269,6 +304,68 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
         return then(SectionReader.settingString(setter));
     }
 
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads a token and sets
+     * its id in the given dictionary on the created object using the provided setter. The dictionary maps each
+     * distinct token to a dense int id, so that repeated tokens only create a string the first time they are read.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the id of the token
+     * @param dictionaryName
+     *         the name of the dictionary of the parse to use (see {@link Context#getDictionary(String)})
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenTokenId(ObjIntConsumer<? super T> setter, String dictionaryName) {
+        return then((ctx, obj) -> setter.accept(obj, ctx.readTokenId(ctx.getDictionary(dictionaryName))));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads the next N tokens
+     * as their ids in the given dictionary, and sets the array of ids on the created object using the provided setter.
+     * N will be read at parsing time from the current value of the given context variable, which needs to be
+     * previously set.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the ids of the tokens
+     * @param sizeVariable
+     *         a context variable that will contain the number of tokens to read
+     * @param dictionaryName
+     *         the name of the dictionary of the parse to use (see {@link Context#getDictionary(String)})
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenTokenIds(BiConsumer<? super T, int[]> setter, String sizeVariable,
+            String dictionaryName) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return thenChild(setter, (ctx, obj) -> {
+            StringDictionary dictionary = ctx.getDictionary(dictionaryName);
+            int[] ids = new int[ctx.getVariableAsInt(size)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = ctx.readTokenId(dictionary);
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then sets the given
+     * dictionary of the parse on the created object using the provided setter. No input is consumed. The dictionary
+     * keeps receiving the tokens read afterwards, so that it is complete when the parsing is over. It gives the token
+     * of each id with {@link StringDictionary#get(int)} or {@link StringDictionary#toArray()}.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the dictionary
+     * @param dictionaryName
+     *         the name of the dictionary of the parse (see {@link Context#getDictionary(String)})
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenDictionary(BiConsumer<? super T, ? super StringDictionary> setter,
+            String dictionaryName) {
+        return then((ctx, obj) -> setter.accept(obj, ctx.getDictionary(dictionaryName)));
+    }
+
     /**
      * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of ints
      * from the next line, and sets it on the created object using the provided setter.
@@ -380,7 +477,8 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      */
     default <E> ObjectReader<T> thenArray(BiConsumer<? super T, ? super E[]> setter, IntFunction<E[]> arrayCreator,
             String sizeVariable, ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingArray(setter, arrayCreator, (p, c) -> c.getVariableAsInt(sizeVariable),
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingSizedArray(setter, arrayCreator, (p, c) -> c.getVariableAsInt(size),
                 itemReader));
     }
 
@@ -401,10 +499,36 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      *         the type of elements in the created array
      *
      * @return the resulting new {@link ObjectReader}
+     * @deprecated the size is boxed, use {@link #thenSizedArray(BiConsumer, IntFunction, ToIntFunction, ChildReader)}
+     * instead
      */
+    @Deprecated
     default <E> ObjectReader<T> thenArray(BiConsumer<? super T, ? super E[]> setter, IntFunction<E[]> arrayCreator,
             Function<? super T, Integer> getSize, ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingArray(setter, arrayCreator, (p, c) -> getSize.apply(p), itemReader));
+        return thenSizedArray(setter, arrayCreator, getSize::apply, itemReader);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * objects from the next N lines, and sets it on the created object using the provided setter. N will be read at
+     * parsing time by calling the provided getSize function.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param arrayCreator
+     *         a function to create a new array, given the desired size
+     * @param getSize
+     *         a function to get the size of the array to create. It takes the created object as parameter.
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created array
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenSizedArray(BiConsumer<? super T, ? super E[]> setter, IntFunction<E[]> arrayCreator,
+            ToIntFunction<? super T> getSize, ChildReader<? extends E, ? super T> itemReader) {
+        return then(SectionReader.settingSizedArray(setter, arrayCreator, (p, c) -> getSize.applyAsInt(p), itemReader));
     }
 
     /**
@@ -425,10 +549,305 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      *         the type of elements in the created array
      *
      * @return the resulting new {@link ObjectReader}
+     * @deprecated the size is boxed, use {@link #thenSizedArray(BiConsumer, IntFunction, ToIntBiFunction,
+     * ChildReader)} instead
      */
+    @Deprecated
     default <E> ObjectReader<T> thenArray(BiConsumer<? super T, ? super E[]> setter, IntFunction<E[]> arrayCreator,
             BiFunction<? super T, Context, Integer> getSize, ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingArray(setter, arrayCreator, getSize, itemReader));
+        return thenSizedArray(setter, arrayCreator, getSize::apply, itemReader);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * objects from the next N lines, and set it on the created object using the provided setter. N will be computed at
+     * parsing time by calling the provided getSize function.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param arrayCreator
+     *         a function to create a new array, given the desired size
+     * @param getSize
+     *         a function to get the size of the array to create. It takes the created object as parameter, as well as
+     *         the current {@link Context}
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created array
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenSizedArray(BiConsumer<? super T, ? super E[]> setter, IntFunction<E[]> arrayCreator,
+            ToIntBiFunction<? super T, Context> getSize, ChildReader<? extends E, ? super T> itemReader) {
+        return then(SectionReader.settingSizedArray(setter, arrayCreator, getSize, itemReader));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * ints from the next N values read by the given item reader, and sets it on the created object using the provided
+     * setter. N will be read at parsing time from the current value of the given context variable, which needs to be
+     * previously set. The elements are never boxed.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param sizeVariable
+     *         a context variable that will contain the desired size of the array
+     * @param itemReader
+     *         a reader used to read each item
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenIntArray(BiConsumer<? super T, int[]> setter, String sizeVariable,
+            IntChildReader<? super T> itemReader) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofIntArray((p, c) -> c.getVariableAsInt(size), itemReader)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * longs from the next N values read by the given item reader, and sets it on the created object using the provided
+     * setter. N will be read at parsing time from the current value of the given context variable, which needs to be
+     * previously set. The elements are never boxed.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param sizeVariable
+     *         a context variable that will contain the desired size of the array
+     * @param itemReader
+     *         a reader used to read each item
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenLongArray(BiConsumer<? super T, long[]> setter, String sizeVariable,
+            LongChildReader<? super T> itemReader) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofLongArray((p, c) -> c.getVariableAsInt(size), itemReader)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * doubles from the next N values read by the given item reader, and sets it on the created object using the
+     * provided setter. N will be read at parsing time from the current value of the given context variable, which
+     * needs to be previously set. The elements are never boxed.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param sizeVariable
+     *         a context variable that will contain the desired size of the array
+     * @param itemReader
+     *         a reader used to read each item
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenDoubleArray(BiConsumer<? super T, double[]> setter, String sizeVariable,
+            DoubleChildReader<? super T> itemReader) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofDoubleArray((p, c) -> c.getVariableAsInt(size), itemReader)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads a grid of
+     * characters from the next R lines of C characters each, and sets it on the created object using the provided
+     * setter. R and C will be read at parsing time from the current values of the given context variables, which need
+     * to be previously set. The grid is packed into a single array, without creating a string per row.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created grid
+     * @param rowsVariable
+     *         a context variable that will contain the number of rows of the grid
+     * @param columnsVariable
+     *         a context variable that will contain the number of columns of the grid
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenCharGrid(BiConsumer<? super T, ? super CharGrid> setter, String rowsVariable,
+            String columnsVariable) {
+        VariableSlot rows = VariableSlot.of(rowsVariable);
+        VariableSlot columns = VariableSlot.of(columnsVariable);
+        return thenChild(setter, (c, p) -> c.readCharGrid(c.getVariableAsInt(rows), c.getVariableAsInt(columns)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads a grid of binary
+     * cells from the next R lines of C characters each, and sets it on the created object using the provided setter.
+     * The cells containing {@code setChar} are set, the others are unset. R and C will be read at parsing time from
+     * the current values of the given context variables, which need to be previously set. The grid is packed into a
+     * bitset.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created grid
+     * @param rowsVariable
+     *         a context variable that will contain the number of rows of the grid
+     * @param columnsVariable
+     *         a context variable that will contain the number of columns of the grid
+     * @param setChar
+     *         the character of the set cells, for instance '#'
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenBitGrid(BiConsumer<? super T, ? super BitGrid> setter, String rowsVariable,
+            String columnsVariable, char setChar) {
+        VariableSlot rows = VariableSlot.of(rowsVariable);
+        VariableSlot columns = VariableSlot.of(columnsVariable);
+        return thenChild(setter,
+                (c, p) -> c.readBitGrid(c.getVariableAsInt(rows), c.getVariableAsInt(columns), setChar));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads the next N entries
+     * into a map from ints to ints, and sets it on the created object using the provided setter. Each entry is read as
+     * an int key followed by an int value, typically an "id value" line. N will be read at parsing time from the
+     * current value of the given context variable, which needs to be previously set. The map is sized for N entries
+     * upfront, and the keys and values are never boxed.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created map
+     * @param sizeVariable
+     *         a context variable that will contain the number of entries to read
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenIntIntMap(BiConsumer<? super T, ? super IntIntMap> setter, String sizeVariable) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofIntIntMap((p, c) -> c.getVariableAsInt(size), (c, p) -> c.readInt(),
+                        (c, p) -> c.readInt())));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads the next N entries
+     * into a map from ints to longs, and sets it on the created object using the provided setter. Each entry is read
+     * as an int key followed by a long value. N will be read at parsing time from the current value of the given
+     * context variable, which needs to be previously set. The map is sized for N entries upfront, and the keys and
+     * values are never boxed.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created map
+     * @param sizeVariable
+     *         a context variable that will contain the number of entries to read
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenIntLongMap(BiConsumer<? super T, ? super IntLongMap> setter, String sizeVariable) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofIntLongMap((p, c) -> c.getVariableAsInt(size), (c, p) -> c.readInt(),
+                        (c, p) -> c.readLong())));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads a graph of N
+     * nodes into a {@link CsrGraph}, and sets it on the created object using the provided setter. Each node is made of
+     * a number K of edges, followed by K edges, each made of a target node and, if the graph is weighted, a weight. N
+     * will be read at parsing time from the current value of the given context variable, which needs to be previously
+     * set.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created graph
+     * @param nodeCountVariable
+     *         a context variable that will contain the number of nodes to read
+     * @param degreeVariable
+     *         the context variable in which the number of edges of each node is read
+     * @param weighted
+     *         true if each edge is followed by its weight
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenCsrGraph(BiConsumer<? super T, ? super CsrGraph> setter, String nodeCountVariable,
+            String degreeVariable, boolean weighted) {
+        SectionReader<Object> nodeHeaderReader = new VariableReader(degreeVariable).asSection();
+        return thenCsrGraph(setter, nodeCountVariable, nodeHeaderReader, degreeVariable, weighted);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads a graph of N
+     * nodes into a {@link CsrGraph}, and sets it on the created object using the provided setter. Each node starts
+     * with a header read by the given reader, which must set the number K of edges of the node into the given
+     * variable. The header is followed by K edges, each made of a target node and, if the graph is weighted, a weight.
+     * N will be read at parsing time from the current value of the given context variable, which needs to be
+     * previously set.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created graph
+     * @param nodeCountVariable
+     *         a context variable that will contain the number of nodes to read
+     * @param nodeHeaderReader
+     *         a reader for the header of each node, called with the created object
+     * @param degreeVariable
+     *         the context variable containing the number of edges of each node, once its header is read
+     * @param weighted
+     *         true if each edge is followed by its weight
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenCsrGraph(BiConsumer<? super T, ? super CsrGraph> setter, String nodeCountVariable,
+            SectionReader<? super T> nodeHeaderReader, String degreeVariable, boolean weighted) {
+        VariableSlot nodeCount = VariableSlot.of(nodeCountVariable);
+        VariableSlot degree = VariableSlot.of(degreeVariable);
+        CsrReader<T> reader = CsrReader.of((p, c) -> c.getVariableAsInt(nodeCount), nodeHeaderReader,
+                (p, c) -> c.getVariableAsInt(degree));
+        return thenChild(setter, weighted ? reader.weighted() : reader);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates an array of
+     * objects from the next N items of {@code linesPerItem} lines each, and sets it on the created object using the
+     * provided setter. N will be read at parsing time from the current value of the given context variable, which needs
+     * to be previously set.
+     * <p>
+     * When the input is a {@link java.nio.ByteBuffer} (as with {@link
+     * org.hildan.hashcode.utils.parser.HCParser#parseFile(String)}), big sections are split into chunks of lines that
+     * are read in parallel. See {@link org.hildan.hashcode.utils.parser.readers.container.ParallelArrayReader} for the
+     * constraints on the item reader.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created array
+     * @param arrayCreator
+     *         a function to create a new array, given the desired size
+     * @param sizeVariable
+     *         a context variable that will contain the desired size of the array
+     * @param linesPerItem
+     *         the exact number of lines of each item
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created array
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenArrayInParallel(BiConsumer<? super T, ? super E[]> setter,
+            IntFunction<E[]> arrayCreator, String sizeVariable, int linesPerItem,
+            ChildReader<? extends E, ? super T> itemReader) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofArrayInParallel((p, c) -> c.getVariableAsInt(size), itemReader, arrayCreator,
+                        linesPerItem)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads N records of ints
+     * into a {@link ColumnTable}, and sets it on the created object using the provided setter. Each record consists of
+     * one value per given column name, and is stored without creating an object. N will be read at parsing time from
+     * the current value of the given context variable, which needs to be previously set.
+     * <p>
+     * For columns of other types, use {@link #thenChild(BiConsumer, ChildReader)} with a {@link ColumnarReader}.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created table
+     * @param sizeVariable
+     *         a context variable that will contain the number of records to read
+     * @param columnNames
+     *         the names of the columns, in the order of the values in each record
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default ObjectReader<T> thenIntColumns(BiConsumer<? super T, ? super ColumnTable> setter, String sizeVariable,
+            String... columnNames) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return thenChild(setter, ColumnarReader.ofIntColumns((p, c) -> c.getVariableAsInt(size), columnNames));
     }
 
     /**
@@ -450,7 +869,8 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      */
     default <E> ObjectReader<T> thenList(BiConsumer<? super T, ? super List<E>> setter, String sizeVariable,
             ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingList(setter, (p, c) -> c.getVariableAsInt(sizeVariable), itemReader));
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingSizedList(setter, (p, c) -> c.getVariableAsInt(size), itemReader));
     }
 
     /**
@@ -468,10 +888,33 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      *         the type of elements in the created list
      *
      * @return the resulting new {@link ObjectReader}
+     * @deprecated the size is boxed, use {@link #thenSizedList(BiConsumer, ToIntFunction, ChildReader)} instead
      */
+    @Deprecated
     default <E> ObjectReader<T> thenList(BiConsumer<? super T, ? super List<E>> setter,
             Function<? super T, Integer> getSize, ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingList(setter, (p, c) -> getSize.apply(p), itemReader));
+        return thenSizedList(setter, getSize::apply, itemReader);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates a list of
+     * objects from the next N lines, and sets it on the created object using the provided setter. N will be read at
+     * parsing time by calling the provided getSize function.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created list
+     * @param getSize
+     *         a function to get the size of the array to create. It takes the created object as parameter.
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created list
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenSizedList(BiConsumer<? super T, ? super List<E>> setter,
+            ToIntFunction<? super T> getSize, ChildReader<? extends E, ? super T> itemReader) {
+        return then(SectionReader.settingSizedList(setter, (p, c) -> getSize.applyAsInt(p), itemReader));
     }
 
     /**
@@ -490,10 +933,115 @@ public interface ObjectReader<T> extends ChildReader<T, Object>, Function<Contex
      *         the type of elements in the created list
      *
      * @return the resulting new {@link ObjectReader}
+     * @deprecated the size is boxed, use {@link #thenSizedList(BiConsumer, ToIntBiFunction, ChildReader)} instead
      */
+    @Deprecated
     default <E> ObjectReader<T> thenList(BiConsumer<? super T, ? super List<E>> setter,
             BiFunction<? super T, Context, Integer> getSize, ChildReader<? extends E, ? super T> itemReader) {
-        return then(SectionReader.settingList(setter, getSize, itemReader));
+        return thenSizedList(setter, getSize::apply, itemReader);
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates a list of
+     * objects from the next N lines, and sets it on the created object using the provided setter. N will be computed at
+     * parsing time by calling the provided getSize function.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created list
+     * @param getSize
+     *         a function to get the size of the array to create. It takes the created object as parameter, as well as
+     *         the current {@link Context}
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created list
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenSizedList(BiConsumer<? super T, ? super List<E>> setter,
+            ToIntBiFunction<? super T, Context> getSize, ChildReader<? extends E, ? super T> itemReader) {
+        return then(SectionReader.settingSizedList(setter, getSize, itemReader));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then creates a lazy list of
+     * the next N items, and sets it on the created object using the provided setter. N will be read at parsing time
+     * from the current value of the given context variable, which needs to be previously set.
+     * <p>
+     * When the input is a {@link java.nio.ByteBuffer} (as with {@link
+     * org.hildan.hashcode.utils.parser.HCParser#parseFile(String)}), only the position of each item is recorded while
+     * parsing, and the items are parsed the first time they are accessed in the list. Otherwise, the items are read
+     * immediately.
+     *
+     * @param setter
+     *         the setter to call on the created object, with the created list
+     * @param sizeVariable
+     *         a context variable that will contain the number of elements to read and put in the list
+     * @param linesPerItem
+     *         the exact number of lines of each item
+     * @param cacheSize
+     *         the maximum number of parsed items kept by the list, 0 to parse the items at each access
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param <E>
+     *         the type of elements in the created list
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenLazyList(BiConsumer<? super T, ? super List<E>> setter, String sizeVariable,
+            int linesPerItem, int cacheSize, ChildReader<? extends E, ? super T> itemReader) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.settingChild(setter,
+                ContainerReader.ofLazyList((p, c) -> c.getVariableAsInt(size), itemReader, linesPerItem, cacheSize)));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads N items using
+     * the given item reader, and gives each of them to the given consumer along with the created object, as soon as it
+     * is read. The items are not stored in any container. N will be read at parsing time from the current value of the
+     * given context variable, which needs to be previously set.
+     *
+     * @param sizeVariable
+     *         a context variable that will contain the number of items to read
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param consumer
+     *         the function to call with the created object and each item
+     * @param <E>
+     *         the type of the items
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenEach(String sizeVariable, ChildReader<? extends E, ? super T> itemReader,
+            BiConsumer<? super T, ? super E> consumer) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.forEach((p, c) -> c.getVariableAsInt(size), itemReader, consumer));
+    }
+
+    /**
+     * Returns a new {@link ObjectReader} that creates the same object as this reader, and then reads N items into a
+     * single reused instance, giving it to the given consumer along with the created object after each item. The
+     * consumer must not keep a reference to the reused instance. N will be read at parsing time from the current value
+     * of the given context variable, which needs to be previously set.
+     *
+     * @param sizeVariable
+     *         a context variable that will contain the number of items to read
+     * @param flyweightFactory
+     *         a function to create the instance to reuse for all the items of the section
+     * @param itemUpdater
+     *         a reader used to update the reused instance with the values of each item
+     * @param consumer
+     *         the function to call with the created object and the updated instance
+     * @param <E>
+     *         the type of the reused instance
+     *
+     * @return the resulting new {@link ObjectReader}
+     */
+    default <E> ObjectReader<T> thenEach(String sizeVariable, Supplier<? extends E> flyweightFactory,
+            SectionReader<? super E> itemUpdater, BiConsumer<? super T, ? super E> consumer) {
+        VariableSlot size = VariableSlot.of(sizeVariable);
+        return then(SectionReader.forEachFlyweight((p, c) -> c.getVariableAsInt(size), flyweightFactory,
+                itemUpdater, consumer));
     }
 
     /**
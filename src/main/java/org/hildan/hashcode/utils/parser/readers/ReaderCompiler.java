@@ -0,0 +1,151 @@
+package org.hildan.hashcode.utils.parser.readers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.readers.container.ContainerReader;
+import org.hildan.hashcode.utils.parser.readers.container.ParallelArrayReader;
+import org.hildan.hashcode.utils.parser.readers.section.ChildSectionReader;
+import org.hildan.hashcode.utils.parser.readers.section.FieldAndVarReader;
+import org.hildan.hashcode.utils.parser.readers.section.FieldsAndVarsReader;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
+import org.hildan.hashcode.utils.parser.readers.variable.VariableSectionReader;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compiles a tree of readers into flat parse plans.
+ * <p>
+ * Each call to {@link ObjectReader#then(SectionReader)} wraps the previous reader, so that reading an object with many
+ * fields goes through a deep chain of nested readers. The compiler walks such a chain once and turns it into a single
+ * reader executing the same steps in a loop. Composite section readers (such as {@link FieldsAndVarsReader}) are
+ * expanded into their individual steps, and the readers of child objects and container items are compiled
+ * recursively.
+ * <p>
+ * The compiled readers read exactly the same input and produce exactly the same objects as the original readers.
+ * Readers that cannot be inspected, like custom lambdas, are simply kept as steps of the plan.
+ */
+public final class ReaderCompiler {
+
+    private ReaderCompiler() {
+    }
+
+    /**
+     * Compiles the given reader into a flat parse plan.
+     *
+     * @param reader
+     *         the reader to compile
+     * @param <T>
+     *         the type of object the reader creates
+     *
+     * @return a reader equivalent to the given one, or the given reader itself if there is nothing to compile
+     */
+    @NotNull
+    public static <T> ObjectReader<T> compile(@NotNull ObjectReader<T> reader) {
+        if (!(reader instanceof ChainedObjectReader)) {
+            return reader;
+        }
+        Deque<SectionReader<? super T>> sections = new ArrayDeque<>();
+        ObjectReader<T> current = reader;
+        while (current instanceof ChainedObjectReader) {
+            ChainedObjectReader<T> chained = (ChainedObjectReader<T>) current;
+            sections.addFirst(chained.getSection());
+            current = chained.getPrevious();
+        }
+        PlanBuilder plan = new PlanBuilder();
+        for (SectionReader<?> section : sections) {
+            plan.add(section);
+        }
+        return plan.build(current);
+    }
+
+    /**
+     * Compiles the given reader, if it is an inspectable {@link ObjectReader} or container reader.
+     *
+     * @param reader
+     *         the reader to compile
+     * @param <T>
+     *         the type of object the reader creates
+     * @param <P>
+     *         the type of parent that the read objects are part of
+     *
+     * @return a reader equivalent to the given one
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <T, P> ChildReader<T, P> compileChild(@NotNull ChildReader<T, P> reader) {
+        if (reader instanceof ObjectReader) {
+            return (ChildReader<T, P>) compile((ObjectReader<T>) reader);
+        }
+        if (reader instanceof ContainerReader) {
+            ContainerReader<Object, T, P> container = (ContainerReader<Object, T, P>) reader;
+            return container.withItemReader(compileChild(container.getItemReader()));
+        }
+        if (reader instanceof ParallelArrayReader) {
+            ParallelArrayReader<Object, P> arrayReader = (ParallelArrayReader<Object, P>) reader;
+            return (ChildReader<T, P>) arrayReader.withItemReader(compileChild(arrayReader.getItemReader()));
+        }
+        return reader;
+    }
+
+    private static class PlanBuilder {
+
+        private final List<Byte> opcodes = new ArrayList<>();
+
+        private final List<VariableSlot> variables = new ArrayList<>();
+
+        private final List<String> fieldNames = new ArrayList<>();
+
+        private final List<SectionReader<?>> sections = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        void add(SectionReader<?> section) {
+            if (section instanceof FieldsAndVarsReader) {
+                ((FieldsAndVarsReader<?>) section).getReaders().forEach(this::add);
+            } else if (section instanceof FieldAndVarReader) {
+                add((FieldAndVarReader<?>) section);
+            } else if (section instanceof VariableSectionReader) {
+                for (VariableSlot variable : ((VariableSectionReader) section).getVariables()) {
+                    add(CompiledObjectReader.READ_VARIABLE, variable, null, null);
+                }
+            } else if (section instanceof ChildSectionReader) {
+                ChildSectionReader<Object, Object> child = (ChildSectionReader<Object, Object>) section;
+                add(CompiledObjectReader.READ_SECTION, null, null,
+                        child.withValueReader(compileChild(child.getValueReader())));
+            } else {
+                add(CompiledObjectReader.READ_SECTION, null, null, section);
+            }
+        }
+
+        private void add(FieldAndVarReader<?> reader) {
+            String fieldName = reader.getFieldName();
+            VariableSlot variable = reader.getVariable();
+            if (fieldName == null) {
+                add(variable == null ? CompiledObjectReader.SKIP : CompiledObjectReader.READ_VARIABLE, variable, null,
+                        null);
+            } else {
+                add(variable == null ? CompiledObjectReader.READ_FIELD : CompiledObjectReader.READ_FIELD_AND_VARIABLE,
+                        variable, fieldName, null);
+            }
+        }
+
+        private void add(byte opcode, VariableSlot variable, String fieldName, SectionReader<?> section) {
+            opcodes.add(opcode);
+            variables.add(variable);
+            fieldNames.add(fieldName);
+            sections.add(section);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> CompiledObjectReader<T> build(ObjectReader<T> constructor) {
+            byte[] opcodeArray = new byte[opcodes.size()];
+            for (int i = 0; i < opcodeArray.length; i++) {
+                opcodeArray[i] = opcodes.get(i);
+            }
+            return new CompiledObjectReader<>(constructor, opcodeArray, variables.toArray(new VariableSlot[0]),
+                    fieldNames.toArray(new String[0]), sections.toArray(new SectionReader[0]));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A table of records stored column by column, as one primitive array per field of the records.
+ * <p>
+ * Compared to an array of objects, iterating over a column reads contiguous memory, without object headers nor
+ * pointers to follow. Columns are accessed by name, and the arrays are returned as-is (not copied), so that they can
+ * be retrieved once before a loop.
+ */
+public final class ColumnTable {
+
+    private final String[] names;
+
+    private final ColumnType[] types;
+
+    private final Object[] columns;
+
+    private final int size;
+
+    ColumnTable(String[] names, ColumnType[] types, Object[] columns, int size) {
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of records in this table, which is the length of each column.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the names of the columns of this table, in the order they were read from the input.
+     *
+     * @return an unmodifiable list of the column names
+     */
+    @NotNull
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Gets whether this table has a column with the given name.
+     *
+     * @param name
+     *         the name of the column
+     *
+     * @return true if the column exists
+     */
+    public boolean hasColumn(String name) {
+        for (String n : names) {
+            if (n.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the type of the column with the given name.
+     *
+     * @param name
+     *         the name of the column
+     *
+     * @return the type of the column
+     * @throws IllegalArgumentException
+     *         if there is no column with the given name
+     */
+    @NotNull
+    public ColumnType getColumnType(String name) {
+        return types[indexOf(name)];
+    }
+
+    /**
+     * Gets the column of ints with the given name.
+     *
+     * @param name
+     *         the name of the column
+     *
+     * @return the values of the column, indexed by record
+     * @throws IllegalArgumentException
+     *         if there is no column of ints with the given name
+     */
+    @NotNull
+    public int[] getIntColumn(String name) {
+        return (int[]) getColumn(name, ColumnType.INT);
+    }
+
+    /**
+     * Gets the column of longs with the given name.
+     *
+     * @param name
+     *         the name of the column
+     *
+     * @return the values of the column, indexed by record
+     * @throws IllegalArgumentException
+     *         if there is no column of longs with the given name
+     */
+    @NotNull
+    public long[] getLongColumn(String name) {
+        return (long[]) getColumn(name, ColumnType.LONG);
+    }
+
+    /**
+     * Gets the column of doubles with the given name.
+     *
+     * @param name
+     *         the name of the column
+     *
+     * @return the values of the column, indexed by record
+     * @throws IllegalArgumentException
+     *         if there is no column of doubles with the given name
+     */
+    @NotNull
+    public double[] getDoubleColumn(String name) {
+        return (double[]) getColumn(name, ColumnType.DOUBLE);
+    }
+
+    private Object getColumn(String name, ColumnType type) {
+        int index = indexOf(name);
+        if (types[index] != type) {
+            throw new IllegalArgumentException(
+                    "Column '" + name + "' is of type " + types[index] + ", not " + type);
+        }
+        return columns[index];
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column named '" + name + "', available columns: " + getColumnNames());
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnTable" + getColumnNames() + "[" + size + " records]";
+    }
+}
@@ -0,0 +1,22 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+/**
+ * The type of values stored in a column of a {@link ColumnTable}.
+ */
+public enum ColumnType {
+
+    /**
+     * Values stored in an {@code int[]}.
+     */
+    INT,
+
+    /**
+     * Values stored in a {@code long[]}.
+     */
+    LONG,
+
+    /**
+     * Values stored in a {@code double[]}.
+     */
+    DOUBLE
+}
@@ -0,0 +1,169 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.Arrays;
+import java.util.function.ToIntBiFunction;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ChildReader} that reads N records of a fixed shape into a {@link ColumnTable}, storing each field of the
+ * records in its own primitive array. No object is created per record.
+ * <p>
+ * The records are read in order, and the values of each record are read in the order of the columns. A
+ * {@code ColumnarReader} is immutable, columns are declared by creating new readers:
+ * <pre>
+ * ColumnarReader.of(getSize).withIntColumn("videoId").withIntColumn("endpointId").withIntColumn("count")
+ * </pre>
+ *
+ * @param <P>
+ *         the type of parent on which the created table is set
+ */
+public class ColumnarReader<P> implements ChildReader<ColumnTable, P> {
+
+    private final ToIntBiFunction<? super P, Context> getSize;
+
+    private final String[] names;
+
+    private final ColumnType[] types;
+
+    private ColumnarReader(ToIntBiFunction<? super P, Context> getSize, String[] names, ColumnType[] types) {
+        this.getSize = getSize;
+        this.names = names;
+        this.types = types;
+    }
+
+    /**
+     * Creates a new {@code ColumnarReader} without columns. Columns must be added with the {@code withXxxColumn}
+     * methods.
+     *
+     * @param getSize
+     *         a function to get the number of records to read, which is given the parent object and context as
+     *         parameter. Note that the given parent parameter may be null if this reader is called to create a root
+     *         object.
+     * @param <P>
+     *         the type of parent on which the created table is set
+     *
+     * @return a new {@code ColumnarReader}
+     */
+    public static <P> ColumnarReader<P> of(ToIntBiFunction<? super P, Context> getSize) {
+        return new ColumnarReader<>(getSize, new String[0], new ColumnType[0]);
+    }
+
+    /**
+     * Creates a new {@code ColumnarReader} reading int columns with the given names.
+     *
+     * @param getSize
+     *         a function to get the number of records to read, which is given the parent object and context as
+     *         parameter. Note that the given parent parameter may be null if this reader is called to create a root
+     *         object.
+     * @param columnNames
+     *         the names of the columns, in the order of the values in each record
+     * @param <P>
+     *         the type of parent on which the created table is set
+     *
+     * @return a new {@code ColumnarReader}
+     */
+    public static <P> ColumnarReader<P> ofIntColumns(ToIntBiFunction<? super P, Context> getSize,
+            String... columnNames) {
+        ColumnarReader<P> reader = of(getSize);
+        for (String name : columnNames) {
+            reader = reader.withIntColumn(name);
+        }
+        return reader;
+    }
+
+    /**
+     * Creates a copy of this reader with an additional column of ints.
+     *
+     * @param name
+     *         the name of the new column
+     *
+     * @return a new {@code ColumnarReader}
+     */
+    public ColumnarReader<P> withIntColumn(@NotNull String name) {
+        return withColumn(name, ColumnType.INT);
+    }
+
+    /**
+     * Creates a copy of this reader with an additional column of longs.
+     *
+     * @param name
+     *         the name of the new column
+     *
+     * @return a new {@code ColumnarReader}
+     */
+    public ColumnarReader<P> withLongColumn(@NotNull String name) {
+        return withColumn(name, ColumnType.LONG);
+    }
+
+    /**
+     * Creates a copy of this reader with an additional column of doubles.
+     *
+     * @param name
+     *         the name of the new column
+     *
+     * @return a new {@code ColumnarReader}
+     */
+    public ColumnarReader<P> withDoubleColumn(@NotNull String name) {
+        return withColumn(name, ColumnType.DOUBLE);
+    }
+
+    private ColumnarReader<P> withColumn(String name, ColumnType type) {
+        if (Arrays.asList(names).contains(name)) {
+            throw new IllegalArgumentException("Duplicate column name '" + name + "'");
+        }
+        String[] newNames = Arrays.copyOf(names, names.length + 1);
+        ColumnType[] newTypes = Arrays.copyOf(types, types.length + 1);
+        newNames[names.length] = name;
+        newTypes[types.length] = type;
+        return new ColumnarReader<>(getSize, newNames, newTypes);
+    }
+
+    @Override
+    public ColumnTable read(@NotNull Context context, @Nullable P parent) throws InputParsingException {
+        int size = getSize.applyAsInt(parent, context);
+        Object[] columns = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            columns[c] = createColumn(types[c], size);
+        }
+        for (int row = 0; row < size; row++) {
+            for (int c = 0; c < types.length; c++) {
+                readValue(context, types[c], columns[c], row);
+            }
+        }
+        return new ColumnTable(names, types, columns, size);
+    }
+
+    private static Object createColumn(ColumnType type, int size) {
+        switch (type) {
+        case INT:
+            return new int[size];
+        case LONG:
+            return new long[size];
+        case DOUBLE:
+            return new double[size];
+        default:
+            throw new IllegalStateException("Unknown column type " + type);
+        }
+    }
+
+    private static void readValue(Context context, ColumnType type, Object column, int row) {
+        switch (type) {
+        case INT:
+            ((int[]) column)[row] = context.readInt();
+            break;
+        case LONG:
+            ((long[]) column)[row] = context.readLong();
+            break;
+        case DOUBLE:
+            ((double[]) column)[row] = context.readDouble();
+            break;
+        default:
+            throw new IllegalStateException("Unknown column type " + type);
+        }
+    }
+}
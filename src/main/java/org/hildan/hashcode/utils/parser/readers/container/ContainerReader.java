@@ -1,15 +1,24 @@
 package org.hildan.hashcode.utils.parser.readers.container;
 
-import java.lang.reflect.Array;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.IntFunction;
+import java.util.function.ToIntBiFunction;
 
+import org.hildan.hashcode.utils.collections.IntIntMap;
+import org.hildan.hashcode.utils.collections.IntList;
+import org.hildan.hashcode.utils.collections.IntLongMap;
+import org.hildan.hashcode.utils.collections.LongList;
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
 import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.hildan.hashcode.utils.parser.readers.DoubleChildReader;
+import org.hildan.hashcode.utils.parser.readers.IntChildReader;
+import org.hildan.hashcode.utils.parser.readers.LongChildReader;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,7 +39,7 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
 
     private final ChildReader<? extends E, ? super P> itemReader;
 
-    private final BiFunction<? super P, Context, Integer> getSize;
+    private final ToIntBiFunction<? super P, Context> getSize;
 
     private final AddFunction<? super E, ? super C> addFunction;
 
@@ -47,20 +56,66 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
      *         a constructor to create a new container, given the size as input
      * @param addFunction
      *         a function to add elements to the created container
+     * @deprecated the size is boxed, use {@link #ContainerReader(ToIntBiFunction, ChildReader, IntFunction,
+     * AddFunction)} instead
      */
+    @Deprecated
     @SuppressWarnings("WeakerAccess")
     protected ContainerReader(BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader, IntFunction<? extends C> constructor,
             AddFunction<? super E, ? super C> addFunction) {
+        this((ToIntBiFunction<? super P, Context>) getSize::apply, itemReader, constructor, addFunction);
+    }
+
+    /**
+     * Creates a new {@code ContainerReader} that may read the expected number of items from the parent object or a
+     * context variable using the provided size getter function.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param constructor
+     *         a constructor to create a new container, given the size as input
+     * @param addFunction
+     *         a function to add elements to the created container
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected ContainerReader(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, IntFunction<? extends C> constructor,
+            AddFunction<? super E, ? super C> addFunction) {
         this.constructor = constructor;
         this.itemReader = itemReader;
         this.getSize = getSize;
         this.addFunction = addFunction;
     }
 
+    /**
+     * Gets the reader used to read each item of the container.
+     *
+     * @return the reader of the items
+     */
+    public ChildReader<? extends E, ? super P> getItemReader() {
+        return itemReader;
+    }
+
+    /**
+     * Creates a copy of this {@code ContainerReader} using the given reader for the items, and the same size getter,
+     * constructor and add function.
+     *
+     * @param itemReader
+     *         a child reader used to read each item
+     *
+     * @return a new {@code ContainerReader}
+     */
+    public ContainerReader<E, C, P> withItemReader(ChildReader<? extends E, ? super P> itemReader) {
+        return new ContainerReader<>(getSize, itemReader, constructor, addFunction);
+    }
+
     @Override
     public C read(@NotNull Context context, @Nullable P parent) throws InputParsingException {
-        int size = getSize.apply(parent, context);
+        int size = getSize.applyAsInt(parent, context);
         C collection = constructor.apply(size);
         for (int i = 0; i < size; i++) {
             addFunction.apply(collection, i, itemReader.read(context, parent));
@@ -89,10 +144,41 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
      *         the type of parent on which the created {@code ContainerReader} will set the created containers
      *
      * @return the created {@code ContainerReader}
+     * @deprecated the size is boxed, use {@link #ofSized(ToIntBiFunction, ChildReader, IntFunction, AddFunction)}
+     * instead
      */
+    @Deprecated
     public static <E, C, P> ChildReader<C, P> of(BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader, IntFunction<? extends C> constructor,
             AddFunction<? super E, ? super C> addFunction) {
+        return ofSized(getSize::apply, itemReader, constructor, addFunction);
+    }
+
+    /**
+     * Creates a new {@code ContainerReader} that may read the expected number of items from the parent object or a
+     * context variable.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a child reader used to read each item
+     * @param constructor
+     *         a constructor to create a new container, given the size as input
+     * @param addFunction
+     *         a function to add elements to the created container
+     * @param <E>
+     *         the type of the elements in the container
+     * @param <C>
+     *         the type of the container itself
+     * @param <P>
+     *         the type of parent on which the created {@code ContainerReader} will set the created containers
+     *
+     * @return the created {@code ContainerReader}
+     */
+    public static <E, C, P> ChildReader<C, P> ofSized(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, IntFunction<? extends C> constructor,
+            AddFunction<? super E, ? super C> addFunction) {
         return new ContainerReader<>(getSize, itemReader, constructor, addFunction);
     }
 
@@ -113,10 +199,225 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
      *         the type of parent that the created array will be part of
      *
      * @return the created {@code ContainerReader}
+     * @deprecated the size is boxed, use {@link #ofSizedArray(ToIntBiFunction, ChildReader, IntFunction)} instead
      */
+    @Deprecated
     public static <E, P> ChildReader<E[], P> ofArray(BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader, IntFunction<E[]> arrayCreator) {
-        return new ContainerReader<>(getSize, itemReader, arrayCreator, Array::set);
+        return ofSizedArray(getSize::apply, itemReader, arrayCreator);
+    }
+
+    /**
+     * Creates a {@code ContainerReader} that reads an array of items.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param arrayCreator
+     *         a function to create a new array, given its size
+     * @param <E>
+     *         the type of elements in the array
+     * @param <P>
+     *         the type of parent that the created array will be part of
+     *
+     * @return the created {@code ContainerReader}
+     */
+    public static <E, P> ChildReader<E[], P> ofSizedArray(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, IntFunction<E[]> arrayCreator) {
+        return new ContainerReader<>(getSize, itemReader, arrayCreator, (E[] arr, int i, E e) -> arr[i] = e);
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads an array of items spanning a fixed number of lines each, splitting the
+     * section into chunks that are read in parallel. See {@link ParallelArrayReader} for the constraints on the item
+     * reader.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}, which must consume exactly
+     *         {@code linesPerItem} lines each time
+     * @param arrayCreator
+     *         a function to create a new array, given its size
+     * @param linesPerItem
+     *         the number of lines of each item
+     * @param <E>
+     *         the type of elements in the array
+     * @param <P>
+     *         the type of parent that the created array will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <E, P> ChildReader<E[], P> ofArrayInParallel(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, IntFunction<E[]> arrayCreator, int linesPerItem) {
+        return new ParallelArrayReader<>(getSize, itemReader, arrayCreator, linesPerItem,
+                ParallelArrayReader.DEFAULT_MIN_ITEMS_PER_CHUNK);
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads a list of items spanning a fixed number of lines each, lazily. Only the
+     * position of each item is recorded while parsing, and the items are parsed the first time they are accessed in
+     * the list. See {@link LazyListReader} for the constraints on the item reader.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call each time an item is parsed, which must consume exactly {@code linesPerItem} lines
+     * @param linesPerItem
+     *         the number of lines of each item
+     * @param cacheSize
+     *         the maximum number of parsed items kept by the list, 0 to parse the items at each access
+     * @param <E>
+     *         the type of elements in the list
+     * @param <P>
+     *         the type of parent that the created list will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <E, P> ChildReader<List<E>, P> ofLazyList(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, int linesPerItem, int cacheSize) {
+        return new LazyListReader<>(getSize, itemReader, linesPerItem, cacheSize);
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads an array of ints, without boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <P>
+     *         the type of parent that the created array will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<int[], P> ofIntArray(ToIntBiFunction<? super P, Context> getSize,
+            IntChildReader<? super P> itemReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = itemReader.read(context, parent);
+            }
+            return array;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads an array of longs, without boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <P>
+     *         the type of parent that the created array will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<long[], P> ofLongArray(ToIntBiFunction<? super P, Context> getSize,
+            LongChildReader<? super P> itemReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            long[] array = new long[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = itemReader.read(context, parent);
+            }
+            return array;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads an array of doubles, without boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <P>
+     *         the type of parent that the created array will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<double[], P> ofDoubleArray(ToIntBiFunction<? super P, Context> getSize,
+            DoubleChildReader<? super P> itemReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            double[] array = new double[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = itemReader.read(context, parent);
+            }
+            return array;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads ints into a buffer allocated by the given off-heap storage, without
+     * boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param storage
+     *         the storage used to allocate the buffer
+     * @param <P>
+     *         the type of parent that the created buffer will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<IntBuffer, P> ofIntBuffer(ToIntBiFunction<? super P, Context> getSize,
+            IntChildReader<? super P> itemReader, OffHeapStorage storage) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            IntBuffer buffer = storage.allocateInts(size);
+            for (int i = 0; i < size; i++) {
+                buffer.put(i, itemReader.read(context, parent));
+            }
+            return buffer;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads longs into a buffer allocated by the given off-heap storage, without
+     * boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param storage
+     *         the storage used to allocate the buffer
+     * @param <P>
+     *         the type of parent that the created buffer will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<LongBuffer, P> ofLongBuffer(ToIntBiFunction<? super P, Context> getSize,
+            LongChildReader<? super P> itemReader, OffHeapStorage storage) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            LongBuffer buffer = storage.allocateLongs(size);
+            for (int i = 0; i < size; i++) {
+                buffer.put(i, itemReader.read(context, parent));
+            }
+            return buffer;
+        };
     }
 
     /**
@@ -134,10 +435,145 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
      *         the type of parent that the created list will be part of
      *
      * @return the created {@code ContainerReader}
+     * @deprecated the size is boxed, use {@link #ofSizedList(ToIntBiFunction, ChildReader)} instead
      */
+    @Deprecated
     public static <E, P> ChildReader<List<E>, P> ofList(BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader) {
-        return ofCollection(getSize, itemReader, ArrayList::new);
+        return ofSizedList(getSize::apply, itemReader);
+    }
+
+    /**
+     * Creates a {@code ContainerReader} that reads a list of items.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <E>
+     *         the type of elements in the list
+     * @param <P>
+     *         the type of parent that the created list will be part of
+     *
+     * @return the created {@code ContainerReader}
+     */
+    public static <E, P> ChildReader<List<E>, P> ofSizedList(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader) {
+        return ofSizedCollection(getSize, itemReader, ArrayList::new);
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads a growable list of ints, without boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <P>
+     *         the type of parent that the created list will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<IntList, P> ofIntList(ToIntBiFunction<? super P, Context> getSize,
+            IntChildReader<? super P> itemReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            IntList list = new IntList(size);
+            for (int i = 0; i < size; i++) {
+                list.add(itemReader.read(context, parent));
+            }
+            return list;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads a growable list of longs, without boxing the elements.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param <P>
+     *         the type of parent that the created list will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<LongList, P> ofLongList(ToIntBiFunction<? super P, Context> getSize,
+            LongChildReader<? super P> itemReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            LongList list = new LongList(size);
+            for (int i = 0; i < size; i++) {
+                list.add(itemReader.read(context, parent));
+            }
+            return list;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads key/value entries into a map of ints, without boxing the keys and
+     * values. The map is sized once for the number of entries to read.
+     *
+     * @param getSize
+     *         a function to get the number of entries to read, which is given the parent object and context as
+     *         parameter. Note that the given parent parameter may be null if this reader is called to create a root
+     *         object.
+     * @param keyReader
+     *         a reader for the key of each entry, called before {@code valueReader}
+     * @param valueReader
+     *         a reader for the value of each entry, called right after {@code keyReader}
+     * @param <P>
+     *         the type of parent that the created map will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<IntIntMap, P> ofIntIntMap(ToIntBiFunction<? super P, Context> getSize,
+            IntChildReader<? super P> keyReader, IntChildReader<? super P> valueReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            IntIntMap map = new IntIntMap(size);
+            for (int i = 0; i < size; i++) {
+                int key = keyReader.read(context, parent);
+                map.put(key, valueReader.read(context, parent));
+            }
+            return map;
+        };
+    }
+
+    /**
+     * Creates a {@link ChildReader} that reads key/value entries into a map from ints to longs, without boxing the keys
+     * and values. The map is sized once for the number of entries to read.
+     *
+     * @param getSize
+     *         a function to get the number of entries to read, which is given the parent object and context as
+     *         parameter. Note that the given parent parameter may be null if this reader is called to create a root
+     *         object.
+     * @param keyReader
+     *         a reader for the key of each entry, called before {@code valueReader}
+     * @param valueReader
+     *         a reader for the value of each entry, called right after {@code keyReader}
+     * @param <P>
+     *         the type of parent that the created map will be part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    public static <P> ChildReader<IntLongMap, P> ofIntLongMap(ToIntBiFunction<? super P, Context> getSize,
+            IntChildReader<? super P> keyReader, LongChildReader<? super P> valueReader) {
+        return (context, parent) -> {
+            int size = getSize.applyAsInt(parent, context);
+            IntLongMap map = new IntLongMap(size);
+            for (int i = 0; i < size; i++) {
+                int key = keyReader.read(context, parent);
+                map.put(key, valueReader.read(context, parent));
+            }
+            return map;
+        };
     }
 
     /**
@@ -159,10 +595,38 @@ public class ContainerReader<E, C, P> implements ChildReader<C, P> {
      *         the type of parent that the created collection will be part of
      *
      * @return the created {@code ContainerReader}
+     * @deprecated the size is boxed, use {@link #ofSizedCollection(ToIntBiFunction, ChildReader, IntFunction)} instead
      */
+    @Deprecated
     public static <E, C extends Collection<E>, P> ChildReader<C, P> ofCollection(
             BiFunction<? super P, Context, Integer> getSize, ChildReader<? extends E, ? super P> itemReader,
             IntFunction<C> constructor) {
+        return ofSizedCollection(getSize::apply, itemReader, constructor);
+    }
+
+    /**
+     * Creates a {@code ContainerReader} that reads a collection of items.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}. This is what actually consumes
+     *         input in the created reader.
+     * @param constructor
+     *         a function to create a new collection, given its size
+     * @param <E>
+     *         the type of elements in the collection
+     * @param <C>
+     *         the type of collections to create
+     * @param <P>
+     *         the type of parent that the created collection will be part of
+     *
+     * @return the created {@code ContainerReader}
+     */
+    public static <E, C extends Collection<E>, P> ChildReader<C, P> ofSizedCollection(
+            ToIntBiFunction<? super P, Context> getSize, ChildReader<? extends E, ? super P> itemReader,
+            IntFunction<C> constructor) {
         return new ContainerReader<>(getSize, itemReader, constructor, (c, i, e) -> c.add(e));
     }
 }
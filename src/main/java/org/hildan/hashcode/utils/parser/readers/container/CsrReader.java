@@ -0,0 +1,100 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.function.ToIntBiFunction;
+
+import org.hildan.hashcode.utils.collections.CsrGraph;
+import org.hildan.hashcode.utils.collections.IntList;
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ChildReader} that reads a graph given as a list of nodes, each followed by its outgoing edges, into a
+ * {@link CsrGraph}. No object is created per node or per edge.
+ * <p>
+ * Each node starts with a header, which must give the number K of edges of the node, for instance by setting a
+ * context variable. The header is followed by K edges, each made of the index of the target node, and its weight if
+ * the graph is weighted. For instance, the endpoints of the Streaming Videos problem are read with:
+ * <pre>
+ * CsrReader.of(getNbEndpoints, new VariableReader("dcLatency", "K").asSection(), (p, c) -&gt; c.getVariableAsInt("K"))
+ *          .weighted()
+ * </pre>
+ *
+ * @param <P>
+ *         the type of parent on which the created graph is set
+ */
+public class CsrReader<P> implements ChildReader<CsrGraph, P> {
+
+    private final ToIntBiFunction<? super P, Context> getNodeCount;
+
+    private final SectionReader<? super P> nodeHeaderReader;
+
+    private final ToIntBiFunction<? super P, Context> getDegree;
+
+    private final boolean weighted;
+
+    private CsrReader(ToIntBiFunction<? super P, Context> getNodeCount, SectionReader<? super P> nodeHeaderReader,
+            ToIntBiFunction<? super P, Context> getDegree, boolean weighted) {
+        this.getNodeCount = getNodeCount;
+        this.nodeHeaderReader = nodeHeaderReader;
+        this.getDegree = getDegree;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Creates a new {@code CsrReader} for an unweighted graph.
+     *
+     * @param getNodeCount
+     *         a function to get the number of nodes to read, which is given the parent object and context as
+     *         parameter. Note that the given parent parameter may be null if this reader is called to create a root
+     *         object.
+     * @param nodeHeaderReader
+     *         a reader for the header of each node, which is called with the parent object
+     * @param getDegree
+     *         a function to get the number of edges of the current node, called right after its header is read
+     * @param <P>
+     *         the type of parent on which the created graph is set
+     *
+     * @return a new {@code CsrReader}
+     */
+    public static <P> CsrReader<P> of(ToIntBiFunction<? super P, Context> getNodeCount,
+            SectionReader<? super P> nodeHeaderReader, ToIntBiFunction<? super P, Context> getDegree) {
+        return new CsrReader<>(getNodeCount, nodeHeaderReader, getDegree, false);
+    }
+
+    /**
+     * Creates a copy of this reader that reads a weight after the target of each edge.
+     *
+     * @return a new {@code CsrReader} for a weighted graph
+     */
+    public CsrReader<P> weighted() {
+        return new CsrReader<>(getNodeCount, nodeHeaderReader, getDegree, true);
+    }
+
+    @Override
+    public CsrGraph read(@NotNull Context context, @Nullable P parent) throws InputParsingException {
+        int nbNodes = getNodeCount.applyAsInt(parent, context);
+        int[] offsets = new int[nbNodes + 1];
+        IntList targets = new IntList(nbNodes);
+        IntList weights = weighted ? new IntList(nbNodes) : null;
+        for (int node = 0; node < nbNodes; node++) {
+            nodeHeaderReader.readAndSet(context, parent);
+            int degree = getDegree.applyAsInt(parent, context);
+            if (degree < 0) {
+                throw new InputParsingException("Negative number of edges for node " + node + ": " + degree);
+            }
+            offsets[node] = targets.size();
+            for (int i = 0; i < degree; i++) {
+                targets.add(context.readInt());
+                if (weights != null) {
+                    weights.add(context.readInt());
+                }
+            }
+        }
+        offsets[nbNodes] = targets.size();
+        return new CsrGraph(offsets, targets.toArray(), weights == null ? null : weights.toArray());
+    }
+}
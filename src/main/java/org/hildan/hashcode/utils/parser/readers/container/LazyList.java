@@ -0,0 +1,87 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.LineIndex;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+
+/**
+ * An unmodifiable list that parses its elements from a {@link LineIndex} the first time they are accessed.
+ * <p>
+ * Parsed elements are kept in a cache of bounded size, evicting the least recently accessed ones. An evicted element
+ * is parsed again, as a new object, when it is accessed again. This list is not thread-safe.
+ *
+ * @param <E>
+ *         the type of the elements in the list
+ * @param <P>
+ *         the type of parent given to the item reader
+ */
+class LazyList<E, P> extends AbstractList<E> implements RandomAccess {
+
+    private final LineIndex index;
+
+    private final ChildReader<? extends E, ? super P> itemReader;
+
+    private final P parent;
+
+    private final int cacheSize;
+
+    private Object[] allElements;
+
+    private Map<Integer, E> recentElements;
+
+    LazyList(LineIndex index, ChildReader<? extends E, ? super P> itemReader, P parent, int cacheSize) {
+        this.index = index;
+        this.itemReader = itemReader;
+        this.parent = parent;
+        this.cacheSize = cacheSize;
+        if (cacheSize >= index.size()) {
+            allElements = new Object[index.size()];
+        } else if (cacheSize > 0) {
+            recentElements = new LinkedHashMap<Integer, E>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, E> eldest) {
+                    return size() > LazyList.this.cacheSize;
+                }
+            };
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int i) {
+        if (allElements != null) {
+            E element = (E) allElements[i];
+            if (element == null) {
+                element = parse(i);
+                allElements[i] = element;
+            }
+            return element;
+        }
+        if (recentElements != null) {
+            E element = recentElements.get(i);
+            if (element == null) {
+                element = parse(i);
+                recentElements.put(i, element);
+            }
+            return element;
+        }
+        return parse(i);
+    }
+
+    private E parse(int i) {
+        Context context = index.open(i);
+        E element = itemReader.read(context, parent);
+        context.closeChunk();
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,66 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntBiFunction;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.LineIndex;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ChildReader} that reads a list of items spanning a fixed number of lines each, by only recording the
+ * position of each item in the input. The items are parsed when they are first accessed in the returned list.
+ * <p>
+ * The item reader must only read the lines of its own item, and reads variables from a copy of the context variables
+ * taken before the section. Parsing errors in the items are only thrown when the items are accessed.
+ * <p>
+ * The section is read eagerly into an {@link ArrayList} when the input cannot be indexed (see {@link
+ * Context#indexNextLines(int, int)}).
+ *
+ * @param <E>
+ *         the type of the elements in the list
+ * @param <P>
+ *         the type of parent on which the created list is set
+ */
+class LazyListReader<E, P> implements ChildReader<List<E>, P> {
+
+    private final ToIntBiFunction<? super P, Context> getSize;
+
+    private final ChildReader<? extends E, ? super P> itemReader;
+
+    private final int linesPerItem;
+
+    private final int cacheSize;
+
+    LazyListReader(ToIntBiFunction<? super P, Context> getSize, ChildReader<? extends E, ? super P> itemReader,
+            int linesPerItem, int cacheSize) {
+        if (linesPerItem <= 0) {
+            throw new IllegalArgumentException("The number of lines per item must be positive");
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative");
+        }
+        this.getSize = getSize;
+        this.itemReader = itemReader;
+        this.linesPerItem = linesPerItem;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public List<E> read(@NotNull Context context, @Nullable P parent) throws InputParsingException {
+        int size = getSize.applyAsInt(parent, context);
+        LineIndex index = context.indexNextLines(size, linesPerItem);
+        if (index != null) {
+            return new LazyList<>(index, itemReader, parent, cacheSize);
+        }
+        List<E> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(itemReader.read(context, parent));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,124 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Allocates storage outside of the Java heap for big sections of numbers, so that they don't weigh on the garbage
+ * collector.
+ * <p>
+ * The buffers are returned with their position at 0 and use the native byte order. They should be accessed with the
+ * absolute {@code get(int)} methods, which are lightweight views over the off-heap memory. The memory is released when
+ * the buffers are garbage collected.
+ */
+public final class OffHeapStorage {
+
+    private static final OffHeapStorage DIRECT = new OffHeapStorage(null);
+
+    @Nullable
+    private final Path tempDir;
+
+    private OffHeapStorage(@Nullable Path tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Gets a storage allocating direct buffers, in the native memory of the process.
+     *
+     * @return a storage allocating direct buffers
+     */
+    @NotNull
+    public static OffHeapStorage direct() {
+        return DIRECT;
+    }
+
+    /**
+     * Gets a storage allocating buffers backed by memory-mapped temporary files, so that the operating system can page
+     * the data out of memory when needed. The files are deleted as soon as they are mapped when the file system
+     * allows it, and when the JVM exits otherwise.
+     *
+     * @param tempDir
+     *         the directory in which to create the temporary files
+     *
+     * @return a storage allocating memory-mapped buffers
+     */
+    @NotNull
+    public static OffHeapStorage mappedTempFiles(@NotNull Path tempDir) {
+        return new OffHeapStorage(tempDir);
+    }
+
+    /**
+     * Allocates a buffer of ints with the given capacity.
+     *
+     * @param capacity
+     *         the number of ints of the buffer
+     *
+     * @return a new buffer of ints, with its limit at the given capacity
+     * @throws IllegalArgumentException
+     *         if the capacity exceeds the maximum size of a buffer
+     * @throws UncheckedIOException
+     *         if the temporary file could not be created or mapped
+     */
+    @NotNull
+    public IntBuffer allocateInts(int capacity) {
+        return allocate(capacity, Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Allocates a buffer of longs with the given capacity.
+     *
+     * @param capacity
+     *         the number of longs of the buffer
+     *
+     * @return a new buffer of longs, with its limit at the given capacity
+     * @throws IllegalArgumentException
+     *         if the capacity exceeds the maximum size of a buffer
+     * @throws UncheckedIOException
+     *         if the temporary file could not be created or mapped
+     */
+    @NotNull
+    public LongBuffer allocateLongs(int capacity) {
+        return allocate(capacity, Long.BYTES).asLongBuffer();
+    }
+
+    private ByteBuffer allocate(int capacity, int elementBytes) {
+        long nbBytes = (long) capacity * elementBytes;
+        if (capacity < 0 || nbBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot allocate a buffer of " + capacity + " elements");
+        }
+        ByteBuffer buffer = tempDir == null ? ByteBuffer.allocateDirect((int) nbBytes) : map((int) nbBytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer map(int nbBytes) {
+        try {
+            Path file = Files.createTempFile(tempDir, "hashcode-utils-", ".bin");
+            ByteBuffer buffer;
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(nbBytes);
+                // the mapping remains valid after the channel is closed
+                buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, nbBytes);
+            }
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                // some file systems don't allow deleting mapped files
+                file.toFile().deleteOnExit();
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map a temporary file in " + tempDir, e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.IntStream;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link ChildReader} that reads an array of items spanning a fixed number of lines each, by splitting the section
+ * of the input at line boundaries and reading the chunks in parallel on the common {@link ForkJoinPool}.
+ * <p>
+ * The items are stored in the array in the same order as in the input. The item reader must only read the lines of
+ * its own item, it is given the same parent object from different threads, and it reads variables from a copy of the
+ * context variables taken before the section. After the section, the context variables are the ones set while reading
+ * the last chunk.
+ * <p>
+ * The section is read sequentially, exactly like {@link ContainerReader#ofSizedArray(ToIntBiFunction, ChildReader,
+ * IntFunction)}, when there are too few items to be worth splitting, or when the input cannot be split (see {@link
+ * Context#splitNextLines(int, int)}).
+ *
+ * @param <E>
+ *         the type of the elements in the array
+ * @param <P>
+ *         the type of parent on which the created array is set
+ */
+public class ParallelArrayReader<E, P> implements ChildReader<E[], P> {
+
+    /**
+     * The default minimum number of items per chunk, so that the cost of a parallel task is negligible.
+     */
+    public static final int DEFAULT_MIN_ITEMS_PER_CHUNK = 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ToIntBiFunction<? super P, Context> getSize;
+
+    private final ChildReader<? extends E, ? super P> itemReader;
+
+    private final IntFunction<E[]> arrayCreator;
+
+    private final int linesPerItem;
+
+    private final int minItemsPerChunk;
+
+    /**
+     * Creates a new {@code ParallelArrayReader}.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the parent object and context as parameter.
+     *         Note that the given parent parameter may be null if this reader is called to create a root object.
+     * @param itemReader
+     *         a reader to call as many times as the size returned by {@code getSize}, which must consume exactly
+     *         {@code linesPerItem} lines each time
+     * @param arrayCreator
+     *         a function to create a new array, given its size
+     * @param linesPerItem
+     *         the number of lines of each item
+     * @param minItemsPerChunk
+     *         the minimum number of items read by each parallel task
+     */
+    public ParallelArrayReader(ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader, IntFunction<E[]> arrayCreator, int linesPerItem,
+            int minItemsPerChunk) {
+        if (linesPerItem <= 0) {
+            throw new IllegalArgumentException("The number of lines per item must be positive");
+        }
+        if (minItemsPerChunk <= 0) {
+            throw new IllegalArgumentException("The minimum number of items per chunk must be positive");
+        }
+        this.getSize = getSize;
+        this.itemReader = itemReader;
+        this.arrayCreator = arrayCreator;
+        this.linesPerItem = linesPerItem;
+        this.minItemsPerChunk = minItemsPerChunk;
+    }
+
+    /**
+     * Gets the reader used to read each item of the array.
+     *
+     * @return the reader of the items
+     */
+    public ChildReader<? extends E, ? super P> getItemReader() {
+        return itemReader;
+    }
+
+    /**
+     * Creates a copy of this {@code ParallelArrayReader} using the given reader for the items, and the same settings.
+     *
+     * @param itemReader
+     *         a child reader used to read each item
+     *
+     * @return a new {@code ParallelArrayReader}
+     */
+    public ParallelArrayReader<E, P> withItemReader(ChildReader<? extends E, ? super P> itemReader) {
+        return new ParallelArrayReader<>(getSize, itemReader, arrayCreator, linesPerItem, minItemsPerChunk);
+    }
+
+    @Override
+    public E[] read(@NotNull Context context, @Nullable P parent) throws InputParsingException {
+        int size = getSize.applyAsInt(parent, context);
+        E[] array = arrayCreator.apply(size);
+        int targetChunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int itemsPerChunk = Math.max(minItemsPerChunk, (size + targetChunks - 1) / targetChunks);
+        Context[] chunks = null;
+        if (size > itemsPerChunk) {
+            chunks = context.splitNextLines(size * linesPerItem, itemsPerChunk * linesPerItem);
+        }
+        if (chunks == null) {
+            for (int i = 0; i < size; i++) {
+                array[i] = itemReader.read(context, parent);
+            }
+            return array;
+        }
+        readChunks(chunks, itemsPerChunk, array, parent);
+        context.copyVariablesFrom(chunks[chunks.length - 1]);
+        return array;
+    }
+
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private void readChunks(Context[] chunks, int itemsPerChunk, E[] array, P parent) {
+        RuntimeException[] errors = new RuntimeException[chunks.length];
+        IntStream.range(0, chunks.length).parallel().forEach(c -> {
+            try {
+                int start = c * itemsPerChunk;
+                int end = Math.min(array.length, start + itemsPerChunk);
+                for (int i = start; i < end; i++) {
+                    array[i] = itemReader.read(chunks[c], parent);
+                }
+                chunks[c].closeChunk();
+            } catch (RuntimeException e) {
+                errors[c] = e;
+            }
+        });
+        for (RuntimeException error : errors) {
+            if (error != null) {
+                // the first error in the input is reported, as it would be with a sequential read
+                throw error;
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.hildan.hashcode.utils.parser.readers.line;
 
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -10,8 +12,10 @@ import java.util.stream.Collectors;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.LineView;
 import org.hildan.hashcode.utils.parser.readers.ChildReader;
 import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.hildan.hashcode.utils.parser.readers.container.OffHeapStorage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -60,30 +64,60 @@ public class LineReader<T, P> implements ChildReader<T, P> {
     }
 
     /**
-     * Creates a new {@link ObjectReader} that reads a full line as an array of integers.
+     * Creates a new {@link ObjectReader} that reads a full line as an array of integers. The elements are parsed
+     * directly from the input, without creating intermediate strings.
      *
      * @return the created {@link ObjectReader}
      */
     public static ObjectReader<int[]> ofIntArray() {
-        return ofObject(arr -> Arrays.stream(arr).mapToInt(Integer::parseInt).toArray());
+        return Context::readIntArrayLine;
     }
 
     /**
-     * Creates a new {@link ObjectReader} that reads a full line as an array of long.
+     * Creates a new {@link ObjectReader} that reads a full line as an array of long. The elements are parsed directly
+     * from the input, without creating intermediate strings.
      *
      * @return the created {@link ObjectReader}
      */
     public static ObjectReader<long[]> ofLongArray() {
-        return ofObject(arr -> Arrays.stream(arr).mapToLong(Long::parseLong).toArray());
+        return Context::readLongArrayLine;
     }
 
     /**
-     * Creates a new {@link ObjectReader} that reads a full line as an array of doubles.
+     * Creates a new {@link ObjectReader} that reads a full line as an array of doubles. The elements are parsed
+     * directly from the input, without creating intermediate strings.
      *
      * @return the created {@link ObjectReader}
      */
     public static ObjectReader<double[]> ofDoubleArray() {
-        return ofObject(arr -> Arrays.stream(arr).mapToDouble(Double::parseDouble).toArray());
+        return Context::readDoubleArrayLine;
+    }
+
+    /**
+     * Creates a new {@link ObjectReader} that reads a full line of integers into a buffer allocated by the given
+     * off-heap storage. The elements are parsed directly from the input, without creating intermediate strings nor
+     * arrays.
+     *
+     * @param storage
+     *         the storage used to allocate the buffer
+     *
+     * @return the created {@link ObjectReader}
+     */
+    public static ObjectReader<IntBuffer> ofIntBuffer(OffHeapStorage storage) {
+        return context -> context.readIntBufferLine(storage::allocateInts);
+    }
+
+    /**
+     * Creates a new {@link ObjectReader} that reads a full line of longs into a buffer allocated by the given off-heap
+     * storage. The elements are parsed directly from the input, without creating intermediate strings nor arrays.
+     *
+     * @param storage
+     *         the storage used to allocate the buffer
+     *
+     * @return the created {@link ObjectReader}
+     */
+    public static ObjectReader<LongBuffer> ofLongBuffer(OffHeapStorage storage) {
+        return context -> context.readLongBufferLine(storage::allocateLongs);
     }
 
     /**
@@ -170,4 +204,51 @@ public class LineReader<T, P> implements ChildReader<T, P> {
     public static <T, P> ChildReader<T, P> ofChild(BiFunction<? super String[], P, T> converter) {
         return new LineReader<>(converter);
     }
+
+    /**
+     * Creates a new {@link ObjectReader} that reads a full line and converts it using the given converter. As opposed
+     * to {@link #ofObject(Function)}, the converter is given a {@link LineView} of the line, which converts the tokens
+     * on demand without creating any string nor array. The view must not be used after the converter returns.
+     *
+     * @param converter
+     *         the function to convert a view of the input line into an object
+     * @param <T>
+     *         the type of objects created by the returned {@link ObjectReader}
+     *
+     * @return the created {@link ObjectReader}
+     */
+    public static <T> ObjectReader<T> ofView(Function<? super LineView, T> converter) {
+        ChildReader<T, Object> reader = ofChildView((LineView line, Object parent) -> converter.apply(line));
+        return ctx -> reader.read(ctx, null);
+    }
+
+    /**
+     * Creates a new {@link ChildReader} that reads a full line and converts it using the given converter. As opposed
+     * to {@link #ofChild(BiFunction)}, the converter is given a {@link LineView} of the line, which converts the tokens
+     * on demand without creating any string nor array. The view must not be used after the converter returns.
+     *
+     * @param converter
+     *         the function to convert a view of the input line into an object. The converter is also given the parent
+     *         object within which the reader will be called.
+     * @param <T>
+     *         the type of objects created by the returned {@link ChildReader}
+     * @param <P>
+     *         the type of parent that the read objects are part of
+     *
+     * @return the created {@link ChildReader}
+     */
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public static <T, P> ChildReader<T, P> ofChildView(BiFunction<? super LineView, P, T> converter) {
+        return (context, parent) -> {
+            LineView line = context.readLineView();
+            try {
+                return converter.apply(line, parent);
+            } catch (InputParsingException e) {
+                // already reported with the line number by the view
+                throw e;
+            } catch (Exception e) {
+                throw context.wrapException("exception while converting the line: " + line, e);
+            }
+        };
+    }
 }
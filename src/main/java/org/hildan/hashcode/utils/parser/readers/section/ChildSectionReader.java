@@ -0,0 +1,65 @@
+package org.hildan.hashcode.utils.parser.readers.section;
+
+import java.util.function.BiConsumer;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link SectionReader} that reads a child object using a {@link ChildReader}, and sets it on the parent object.
+ *
+ * @param <V>
+ *         the type of the child object to set
+ * @param <T>
+ *         the type of object that this {@code ChildSectionReader} updates
+ */
+public class ChildSectionReader<V, T> implements SectionReader<T> {
+
+    private final BiConsumer<? super T, ? super V> setter;
+
+    private final ChildReader<? extends V, ? super T> valueReader;
+
+    /**
+     * Creates a new {@code ChildSectionReader}.
+     *
+     * @param setter
+     *         the setter to use to set the value on the target object
+     * @param valueReader
+     *         the reader to use to read the child object to set
+     */
+    public ChildSectionReader(BiConsumer<? super T, ? super V> setter,
+            ChildReader<? extends V, ? super T> valueReader) {
+        this.setter = setter;
+        this.valueReader = valueReader;
+    }
+
+    /**
+     * Gets the reader used to read the child object.
+     *
+     * @return the reader of the child object
+     */
+    public ChildReader<? extends V, ? super T> getValueReader() {
+        return valueReader;
+    }
+
+    /**
+     * Creates a copy of this {@code ChildSectionReader} using the given reader for the child object, and the same
+     * setter.
+     *
+     * @param valueReader
+     *         the reader to use to read the child object to set
+     *
+     * @return a new {@code ChildSectionReader}
+     */
+    public ChildSectionReader<V, T> withValueReader(ChildReader<? extends V, ? super T> valueReader) {
+        return new ChildSectionReader<>(setter, valueReader);
+    }
+
+    @Override
+    public void readAndSet(@NotNull Context context, @Nullable T object) throws InputParsingException {
+        setter.accept(object, valueReader.read(context, object));
+    }
+}
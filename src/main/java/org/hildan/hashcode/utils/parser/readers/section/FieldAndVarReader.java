@@ -2,12 +2,16 @@ package org.hildan.hashcode.utils.parser.readers.section;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
-import org.hildan.hashcode.utils.parser.reflect.ReflectUtils;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.reflect.FieldSetter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * A {@link SectionReader} that reads a value and injects it in a field of the parent object, and/or a context variable.
+ * <p>
+ * The field is resolved into a {@link FieldSetter} the first time an object is read, and then reused as long as the
+ * objects are of the same class, so that no reflective lookup happens per object.
  *
  * @param <P>
  *         the type of parent that this {@code FieldAndVarReader} can update
@@ -16,7 +20,9 @@ public class FieldAndVarReader<P> implements SectionReader<P> {
 
     private final String fieldName;
 
-    private final String variableName;
+    private final VariableSlot variable;
+
+    private CachedSetter cachedSetter;
 
     /**
      * Creates a new {@code FieldAndVarReader} with the given field/variable names.
@@ -36,24 +42,78 @@ public class FieldAndVarReader<P> implements SectionReader<P> {
      *         the name of a variable to set, or null if no variable should be set.
      */
     public FieldAndVarReader(String fieldName, String variableName) {
-        this.fieldName = fieldName;
-        this.variableName = variableName;
         if (fieldName != null && fieldName.isEmpty()) {
             throw new IllegalArgumentException("Empty field name is not allowed, should be null to omit field");
         }
         if (variableName != null && variableName.isEmpty()) {
             throw new IllegalArgumentException("Empty variable name is not allowed, should be null to omit variable");
         }
+        this.fieldName = fieldName;
+        this.variable = variableName == null ? null : VariableSlot.of(variableName);
+    }
+
+    /**
+     * Gets the name of the field set by this reader.
+     *
+     * @return the name of the field set by this reader, or null if it does not set any field
+     */
+    @Nullable
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Gets the slot of the variable set by this reader.
+     *
+     * @return the slot of the variable set by this reader, or null if it does not set any variable
+     */
+    @Nullable
+    public VariableSlot getVariable() {
+        return variable;
     }
 
     @Override
     public void readAndSet(@NotNull Context context, @Nullable P object) throws InputParsingException {
-        String value = context.readString();
-        if (variableName != null) {
-            context.setVariable(variableName, value);
+        if (variable == null) {
+            if (fieldName == null) {
+                context.skip(1);
+            } else {
+                // fast path, the value is directly read with the type of the field
+                getSetter(object).readAndSet(context, object);
+            }
+            return;
         }
+        context.readIntoVariable(variable);
         if (fieldName != null) {
-            ReflectUtils.setField(object, fieldName, value);
+            getSetter(object).setFromVariable(context, variable, object);
+        }
+    }
+
+    @NotNull
+    private FieldSetter getSetter(@Nullable P object) {
+        if (object == null) {
+            throw new InputParsingException("Cannot set field '" + fieldName + "' on a null object");
+        }
+        CachedSetter cached = cachedSetter;
+        if (cached == null || cached.clazz != object.getClass()) {
+            cached = new CachedSetter(object.getClass(), FieldSetter.of(object.getClass(), fieldName));
+            cachedSetter = cached;
+        }
+        return cached.setter;
+    }
+
+    /**
+     * An immutable pair of class and setter, so that readers shared between threads always see consistent values.
+     */
+    private static class CachedSetter {
+
+        private final Class<?> clazz;
+
+        private final FieldSetter setter;
+
+        CachedSetter(Class<?> clazz, FieldSetter setter) {
+            this.clazz = clazz;
+            this.setter = setter;
         }
     }
 }
@@ -1,6 +1,7 @@
 package org.hildan.hashcode.utils.parser.readers.section;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
@@ -67,6 +68,15 @@ public class FieldsAndVarsReader<P> implements SectionReader<P> {
         }
     }
 
+    /**
+     * Gets the readers for each field/variable, in the order they are read.
+     *
+     * @return an unmodifiable list of the readers for each field/variable
+     */
+    public List<FieldAndVarReader<P>> getReaders() {
+        return Collections.unmodifiableList(readers);
+    }
+
     @Override
     public void readAndSet(@NotNull Context context, @Nullable P object) throws InputParsingException {
         for (FieldAndVarReader<P> reader : readers) {
@@ -8,6 +8,8 @@ import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
@@ -122,24 +124,117 @@ public interface SectionReader<T> {
      */
     static <V, T> SectionReader<T> settingChild(BiConsumer<? super T, ? super V> setter,
             ChildReader<? extends V, ? super T> valueReader) {
-        return (ctx, obj) -> setter.accept(obj, valueReader.read(ctx, obj));
+        return new ChildSectionReader<>(setter, valueReader);
     }
 
+    /**
+     * Returns a {@link SectionReader} that reads N items and gives each of them to the given consumer as soon as it is
+     * read, without storing them in a container.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the target object and context as
+     *         parameter
+     * @param itemReader
+     *         the reader to use to read each item
+     * @param consumer
+     *         the function to call with the target object and each item
+     * @param <E>
+     *         the type of the items
+     * @param <T>
+     *         the type of object that the returned {@code SectionReader} updates
+     *
+     * @return a {@link SectionReader} that reads the items and gives them to the consumer
+     */
+    static <E, T> SectionReader<T> forEach(ToIntBiFunction<? super T, Context> getSize,
+            ChildReader<? extends E, ? super T> itemReader, BiConsumer<? super T, ? super E> consumer) {
+        return (ctx, obj) -> {
+            int size = getSize.applyAsInt(obj, ctx);
+            for (int i = 0; i < size; i++) {
+                consumer.accept(obj, itemReader.read(ctx, obj));
+            }
+        };
+    }
+
+    /**
+     * Returns a {@link SectionReader} that reads N items into a single mutable "flyweight" instance, and gives it to
+     * the given consumer after each item is read. Only one instance is created each time the section is read, so the
+     * consumer must not keep a reference to the flyweight, but copy the values it needs instead.
+     *
+     * @param getSize
+     *         a function to get the number of items to read, which is given the target object and context as
+     *         parameter
+     * @param flyweightFactory
+     *         a function to create the instance to reuse for all items
+     * @param itemUpdater
+     *         the reader to use to update the flyweight with the values of each item
+     * @param consumer
+     *         the function to call with the target object and the updated flyweight
+     * @param <E>
+     *         the type of the flyweight
+     * @param <T>
+     *         the type of object that the returned {@code SectionReader} updates
+     *
+     * @return a {@link SectionReader} that reads the items and gives them to the consumer
+     */
+    static <E, T> SectionReader<T> forEachFlyweight(ToIntBiFunction<? super T, Context> getSize,
+            Supplier<? extends E> flyweightFactory, SectionReader<? super E> itemUpdater,
+            BiConsumer<? super T, ? super E> consumer) {
+        return (ctx, obj) -> {
+            int size = getSize.applyAsInt(obj, ctx);
+            E flyweight = flyweightFactory.get();
+            for (int i = 0; i < size; i++) {
+                itemUpdater.readAndSet(ctx, flyweight);
+                consumer.accept(obj, flyweight);
+            }
+        };
+    }
+
+    /**
+     * @deprecated the size is boxed, use {@link #settingSizedArray(BiConsumer, IntFunction, ToIntBiFunction,
+     * ChildReader)} instead
+     */
+    @Deprecated
     static <E, P> SectionReader<P> settingArray(BiConsumer<? super P, ? super E[]> setter,
             IntFunction<E[]> arrayCreator, BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader) {
-        return settingChild(setter, ContainerReader.ofArray(getSize, itemReader, arrayCreator));
+        return settingSizedArray(setter, arrayCreator, getSize::apply, itemReader);
     }
 
+    static <E, P> SectionReader<P> settingSizedArray(BiConsumer<? super P, ? super E[]> setter,
+            IntFunction<E[]> arrayCreator, ToIntBiFunction<? super P, Context> getSize,
+            ChildReader<? extends E, ? super P> itemReader) {
+        return settingChild(setter, ContainerReader.ofSizedArray(getSize, itemReader, arrayCreator));
+    }
+
+    /**
+     * @deprecated the size is boxed, use {@link #settingSizedList(BiConsumer, ToIntBiFunction, ChildReader)} instead
+     */
+    @Deprecated
     static <E, P> SectionReader<P> settingList(BiConsumer<? super P, ? super List<E>> setter,
             BiFunction<? super P, Context, Integer> getSize, ChildReader<? extends E, ? super P> itemReader) {
-        ChildReader<List<E>, P> listReader = ContainerReader.ofList(getSize, itemReader);
+        return settingSizedList(setter, getSize::apply, itemReader);
+    }
+
+    static <E, P> SectionReader<P> settingSizedList(BiConsumer<? super P, ? super List<E>> setter,
+            ToIntBiFunction<? super P, Context> getSize, ChildReader<? extends E, ? super P> itemReader) {
+        ChildReader<List<E>, P> listReader = ContainerReader.ofSizedList(getSize, itemReader);
         return settingChild(setter, listReader);
     }
 
+    /**
+     * @deprecated the size is boxed, use {@link #settingSizedCollection(BiConsumer, IntFunction, ToIntBiFunction,
+     * ChildReader)} instead
+     */
+    @Deprecated
     static <E, C extends Collection<E>, P> SectionReader<P> settingCollection(BiConsumer<? super P, ? super C> setter,
             IntFunction<C> constructor, BiFunction<? super P, Context, Integer> getSize,
             ChildReader<? extends E, ? super P> itemReader) {
-        return settingChild(setter, ContainerReader.ofCollection(getSize, itemReader, constructor));
+        return settingSizedCollection(setter, constructor, getSize::apply, itemReader);
+    }
+
+    static <E, C extends Collection<E>, P> SectionReader<P> settingSizedCollection(
+            BiConsumer<? super P, ? super C> setter, IntFunction<C> constructor,
+            ToIntBiFunction<? super P, Context> getSize, ChildReader<? extends E, ? super P> itemReader) {
+        return settingChild(setter, ContainerReader.ofSizedCollection(getSize, itemReader, constructor));
     }
 }
@@ -5,16 +5,28 @@ import java.util.function.Consumer;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
 
 /**
- * A reader that consumes as much input as necessary to set the given variables.
+ * A reader that consumes as much input as necessary to set the given variables. It can also be used as a {@link
+ * SectionReader} that ignores the object to update, via {@link #asSection()}.
  */
 public class VariableReader implements Consumer<Context> {
 
-    private final String[] variableNames;
+    private final VariableSlot[] variables;
 
     public VariableReader(String... variableNames) {
-        this.variableNames = variableNames;
+        this.variables = Arrays.stream(variableNames).map(VariableSlot::of).toArray(VariableSlot[]::new);
+    }
+
+    /**
+     * Gets the slots of the variables set by this reader, in the order they are read.
+     *
+     * @return the slots of the variables set by this reader
+     */
+    public VariableSlot[] getVariables() {
+        return variables.clone();
     }
 
     /**
@@ -28,6 +40,17 @@ public class VariableReader implements Consumer<Context> {
      */
     @Override
     public void accept(Context context) throws InputParsingException {
-        Arrays.stream(variableNames).forEach(context::readIntoVariable);
+        for (VariableSlot variable : variables) {
+            context.readIntoVariable(variable);
+        }
+    }
+
+    /**
+     * Returns a {@link SectionReader} that ignores the object to update, and reads the variables of this reader.
+     *
+     * @return a {@link SectionReader} setting the variables of this reader
+     */
+    public VariableSectionReader asSection() {
+        return new VariableSectionReader(this);
     }
 }
@@ -0,0 +1,35 @@
+package org.hildan.hashcode.utils.parser.readers.variable;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.hildan.hashcode.utils.parser.readers.section.SectionReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link SectionReader} that ignores the object to update, and only sets context variables using a {@link
+ * VariableReader}.
+ */
+public class VariableSectionReader implements SectionReader<Object> {
+
+    private final VariableReader variableReader;
+
+    VariableSectionReader(VariableReader variableReader) {
+        this.variableReader = variableReader;
+    }
+
+    /**
+     * Gets the slots of the variables set by this reader, in the order they are read.
+     *
+     * @return the slots of the variables set by this reader
+     */
+    public VariableSlot[] getVariables() {
+        return variableReader.getVariables();
+    }
+
+    @Override
+    public void readAndSet(@NotNull Context context, @Nullable Object object) throws InputParsingException {
+        variableReader.accept(context);
+    }
+}
@@ -0,0 +1,346 @@
+package org.hildan.hashcode.utils.parser.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.TokenConversionException;
+import org.hildan.hashcode.utils.parser.context.UndefinedVariableException;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A setter for a specific field of a specific class, resolved once and then reused for every object.
+ * <p>
+ * Fields of type {@code int}, {@code long} and {@code double} get specialized setters, which read the value from the
+ * input with the corresponding {@link Context} method and write it without boxing. Fields of other types are converted
+ * from the string token using the {@link StringConverter}.
+ */
+public abstract class FieldSetter {
+
+    private final Field field;
+
+    private FieldSetter(Field field) {
+        this.field = field;
+    }
+
+    /**
+     * Resolves the given field of the given class into a {@code FieldSetter}.
+     *
+     * @param clazz
+     *         the class declaring the field
+     * @param fieldName
+     *         the name of the field to set
+     *
+     * @return a new {@code FieldSetter} for the given field
+     *
+     * @throws InputParsingException
+     *         if the field does not exist or cannot be accessed
+     */
+    @NotNull
+    public static FieldSetter of(@NotNull Class<?> clazz, @NotNull String fieldName) throws InputParsingException {
+        Field field = ReflectUtils.getField(clazz, fieldName);
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectSetter(field);
+            if (type == int.class) {
+                return new IntSetter(field, handle.asType(MethodType.methodType(void.class, Object.class, int.class)));
+            }
+            if (type == long.class) {
+                return new LongSetter(field,
+                        handle.asType(MethodType.methodType(void.class, Object.class, long.class)));
+            }
+            if (type == double.class) {
+                return new DoubleSetter(field,
+                        handle.asType(MethodType.methodType(void.class, Object.class, double.class)));
+            }
+            return new ObjectSetter(field,
+                    handle.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+        } catch (IllegalAccessException e) {
+            // some fields (e.g. final fields on some JVMs) cannot be set via method handles
+            return new ReflectiveSetter(field);
+        }
+    }
+
+    /**
+     * Gets the class declaring the field set by this {@code FieldSetter}.
+     *
+     * @return the declaring class of the field
+     */
+    @NotNull
+    public Class<?> getDeclaringClass() {
+        return field.getDeclaringClass();
+    }
+
+    /**
+     * Reads one token from the given context, and sets the field of the given object to the parsed value.
+     *
+     * @param context
+     *         the context to read the value from
+     * @param obj
+     *         the object to update
+     *
+     * @throws InputParsingException
+     *         if the value cannot be read or converted to the type of the field
+     */
+    public abstract void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException;
+
+    /**
+     * Converts the given value to the type of the field, and sets the field of the given object to the result.
+     *
+     * @param obj
+     *         the object to update
+     * @param value
+     *         the value to convert and set
+     *
+     * @throws InputParsingException
+     *         if the value cannot be converted to the type of the field
+     */
+    public void setFromString(@NotNull Object obj, @NotNull String value) throws InputParsingException {
+        setConverted(obj, ReflectUtils.convertString(field, value));
+    }
+
+    /**
+     * Sets the field of the given object to the value of the given context variable, converted to the type of the
+     * field.
+     *
+     * @param context
+     *         the context holding the variable
+     * @param variable
+     *         the variable to get the value from
+     * @param obj
+     *         the object to update
+     *
+     * @throws InputParsingException
+     *         if the variable is not defined or cannot be converted to the type of the field
+     */
+    public void setFromVariable(@NotNull Context context, @NotNull VariableSlot variable, @NotNull Object obj)
+            throws InputParsingException {
+        setFromString(obj, context.getVariable(variable));
+    }
+
+    /**
+     * Sets the field of the given object to the given value, which is already of the type of the field.
+     *
+     * @param obj
+     *         the object to update
+     * @param value
+     *         the value to set
+     */
+    abstract void setConverted(@NotNull Object obj, @NotNull Object value);
+
+    InputParsingException typeMismatch(TokenConversionException cause) {
+        return typeMismatch(cause.getToken(), cause);
+    }
+
+    InputParsingException typeMismatch(String value, Throwable cause) {
+        return new InputParsingException(
+                "Type mismatch, cannot assign value '" + value + "' to field '" + field.getName() + "' of type "
+                        + field.getType().getSimpleName(), cause);
+    }
+
+    InputParsingException setFailure(Object value, Throwable cause) {
+        return new InputParsingException(
+                "Could not set field '" + field.getDeclaringClass().getSimpleName() + "." + field.getName()
+                        + "' to value '" + value + "'", cause);
+    }
+
+    private static final class IntSetter extends FieldSetter {
+
+        private final MethodHandle handle;
+
+        private IntSetter(Field field, MethodHandle handle) {
+            super(field);
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        public void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException {
+            int value;
+            try {
+                value = context.readInt();
+            } catch (TokenConversionException e) {
+                throw typeMismatch(e);
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        public void setFromVariable(@NotNull Context context, @NotNull VariableSlot variable, @NotNull Object obj)
+                throws InputParsingException {
+            int value;
+            try {
+                value = context.getVariableAsInt(variable);
+            } catch (UndefinedVariableException e) {
+                throw e;
+            } catch (InputParsingException e) {
+                throw typeMismatch(context.getVariable(variable), e);
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        void setConverted(@NotNull Object obj, @NotNull Object value) {
+            try {
+                handle.invokeExact(obj, (int) (Integer) value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+    }
+
+    private static final class LongSetter extends FieldSetter {
+
+        private final MethodHandle handle;
+
+        private LongSetter(Field field, MethodHandle handle) {
+            super(field);
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        public void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException {
+            long value;
+            try {
+                value = context.readLong();
+            } catch (TokenConversionException e) {
+                throw typeMismatch(e);
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        public void setFromVariable(@NotNull Context context, @NotNull VariableSlot variable, @NotNull Object obj)
+                throws InputParsingException {
+            long value;
+            try {
+                value = context.getVariableAsLong(variable);
+            } catch (UndefinedVariableException e) {
+                throw e;
+            } catch (InputParsingException e) {
+                throw typeMismatch(context.getVariable(variable), e);
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        void setConverted(@NotNull Object obj, @NotNull Object value) {
+            try {
+                handle.invokeExact(obj, (long) (Long) value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+    }
+
+    private static final class DoubleSetter extends FieldSetter {
+
+        private final MethodHandle handle;
+
+        private DoubleSetter(Field field, MethodHandle handle) {
+            super(field);
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        public void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException {
+            double value;
+            try {
+                value = context.readDouble();
+            } catch (TokenConversionException e) {
+                throw typeMismatch(e);
+            }
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        void setConverted(@NotNull Object obj, @NotNull Object value) {
+            try {
+                handle.invokeExact(obj, (double) (Double) value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+    }
+
+    private static final class ObjectSetter extends FieldSetter {
+
+        private final MethodHandle handle;
+
+        private ObjectSetter(Field field, MethodHandle handle) {
+            super(field);
+            this.handle = handle;
+        }
+
+        @Override
+        public void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException {
+            setFromString(obj, context.readString());
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalcatch")
+        void setConverted(@NotNull Object obj, @NotNull Object value) {
+            try {
+                handle.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw setFailure(value, e);
+            }
+        }
+    }
+
+    private static final class ReflectiveSetter extends FieldSetter {
+
+        private final Field field;
+
+        private ReflectiveSetter(Field field) {
+            super(field);
+            this.field = field;
+        }
+
+        @Override
+        public void readAndSet(@NotNull Context context, @NotNull Object obj) throws InputParsingException {
+            setFromString(obj, context.readString());
+        }
+
+        @Override
+        void setConverted(@NotNull Object obj, @NotNull Object value) {
+            try {
+                field.set(obj, value);
+            } catch (IllegalAccessException e) {
+                throw setFailure(value, e);
+            }
+        }
+    }
+}
@@ -11,10 +11,14 @@ public class ReflectUtils {
 
     public static void setField(@NotNull Object obj, @NotNull String fieldName, @Nullable Object value) throws
             InputParsingException {
-        Class<?> clazz = obj.getClass();
+        Field field = getField(obj.getClass(), fieldName);
+        setField(obj, field, value);
+    }
+
+    @NotNull
+    static Field getField(@NotNull Class<?> clazz, @NotNull String fieldName) throws InputParsingException {
         try {
-            Field field = clazz.getDeclaredField(fieldName);
-            setField(obj, field, value);
+            return clazz.getDeclaredField(fieldName);
         } catch (NoSuchFieldException e) {
             throw new InputParsingException(
                     String.format("The provided field name '%s' was not found in class '%s'", fieldName,
@@ -52,7 +56,7 @@ public class ReflectUtils {
     }
 
     @NotNull
-    private static Object convertString(@NotNull Field field, @NotNull String value) throws InputParsingException {
+    static Object convertString(@NotNull Field field, @NotNull String value) throws InputParsingException {
         try {
             return StringConverter.convert(field.getType(), value);
         } catch (StringConversionException e) {
@@ -3,6 +3,7 @@ package org.hildan.hashcode.utils.parser.reflect;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hildan.hashcode.utils.parser.context.FastDoubleParser;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -79,7 +80,7 @@ class StringConverter {
             } else if (targetType.equals(int.class) || targetType.equals(Integer.class)) {
                 return Integer.valueOf(value);
             } else if (targetType.equals(double.class) || targetType.equals(Double.class)) {
-                return Double.valueOf(value);
+                return FastDoubleParser.parseDouble(value);
             } else if (targetType.equals(float.class) || targetType.equals(Float.class)) {
                 return Float.valueOf(value);
             } else if (targetType.equals(char.class) || targetType.equals(Character.class)) {
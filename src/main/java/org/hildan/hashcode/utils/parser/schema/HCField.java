@@ -0,0 +1,29 @@
+package org.hildan.hashcode.utils.parser.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of an {@link HCObject} class to be read from the input. Each annotated field consumes one token of the
+ * input, in the order in which the fields are declared in the class.
+ * <p>
+ * The annotated field must not be private, final or static, and must be of type {@code int}, {@code long}, {@code
+ * double}, their boxed equivalents, or {@code String}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface HCField {
+
+    /**
+     * The name of a context variable to also store the value into, or an empty string (the default) to only set the
+     * field. This is the equivalent of the "field@variable" syntax of {@link
+     * org.hildan.hashcode.utils.parser.readers.ObjectReader#thenFieldsAndVars(String...)}.
+     *
+     * @return the name of the variable to set, or an empty string for none
+     */
+    String variable() default "";
+}
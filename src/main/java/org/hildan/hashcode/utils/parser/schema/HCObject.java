@@ -0,0 +1,27 @@
+package org.hildan.hashcode.utils.parser.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+
+/**
+ * Marks a class as a model that can be read from the input, field by field.
+ * <p>
+ * When the {@code hashcode-utils-processor} annotation processor is on the compile path, it generates for each class
+ * annotated with {@code @HCObject} an {@link ObjectReader} named after the class with the {@code _HCReader} suffix
+ * (e.g. {@code RequestDesc_HCReader} for {@code RequestDesc}), in the same package. The generated reader creates the
+ * object with its no-arg constructor, and then reads the fields annotated with {@link HCField}, in the order they are
+ * declared, using direct field assignments and primitive reads. No reflection is involved at parse time.
+ * <p>
+ * The annotated class must be a top-level or static nested class that is not private, with a non-private no-arg
+ * constructor.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface HCObject {
+}
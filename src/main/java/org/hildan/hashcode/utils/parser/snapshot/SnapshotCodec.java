@@ -0,0 +1,81 @@
+package org.hildan.hashcode.utils.parser.snapshot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Converts parsed objects to and from a binary snapshot.
+ * <p>
+ * Hand-written codecs writing the fields of the model with {@link DataOutputStream#writeInt(int)} and the like are the
+ * most compact and the fastest to load. For models implementing {@link Serializable}, {@link #serializable()} provides
+ * a codec based on Java serialization that requires no code.
+ *
+ * @param <T>
+ *         the type of objects this codec converts
+ */
+public interface SnapshotCodec<T> {
+
+    /**
+     * Writes the given object to the given output.
+     *
+     * @param object
+     *         the object to write
+     * @param output
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if an error occurs while writing
+     */
+    void write(@NotNull T object, @NotNull DataOutputStream output) throws IOException;
+
+    /**
+     * Reads an object from the given input, written by {@link #write(Object, DataOutputStream)}.
+     *
+     * @param input
+     *         the input to read from
+     *
+     * @return the object read from the input
+     *
+     * @throws IOException
+     *         if an error occurs while reading, or if the input is not a valid snapshot
+     */
+    @NotNull
+    T read(@NotNull DataInputStream input) throws IOException;
+
+    /**
+     * Gets a codec using Java serialization. The whole object graph must be {@link Serializable}.
+     *
+     * @param <T>
+     *         the type of objects to convert
+     *
+     * @return a codec using Java serialization
+     */
+    @NotNull
+    static <T extends Serializable> SnapshotCodec<T> serializable() {
+        return new SnapshotCodec<T>() {
+            @Override
+            public void write(@NotNull T object, @NotNull DataOutputStream output) throws IOException {
+                ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+                objectOutput.writeObject(object);
+                objectOutput.flush();
+            }
+
+            @NotNull
+            @Override
+            @SuppressWarnings("unchecked")
+            public T read(@NotNull DataInputStream input) throws IOException {
+                try {
+                    return (T) new ObjectInputStream(input).readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("The snapshot does not contain the expected object", e);
+                }
+            }
+        };
+    }
+}
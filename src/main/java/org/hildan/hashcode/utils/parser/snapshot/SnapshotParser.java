@@ -0,0 +1,205 @@
+package org.hildan.hashcode.utils.parser.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+import org.hildan.hashcode.utils.parser.HCParser;
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link HCParser} that caches the objects parsed from files as binary snapshots.
+ * <p>
+ * The first time a file is parsed, the resulting object is written to a snapshot file in the cache directory, using a
+ * {@link SnapshotCodec}. Later calls to {@link #parseFile(String)} load the snapshot instead of parsing the file, as
+ * long as the content of the file and the schema version are unchanged. The snapshots are identified by a SHA-256
+ * hash of the content of the input file and of the schema version, so that a modified input is parsed again, and the
+ * outdated snapshot is deleted.
+ * <p>
+ * The readers of this parser cannot be inspected to detect changes in the way the input is parsed. The schema version
+ * must therefore be changed whenever the readers or the model classes change, to invalidate existing snapshots.
+ *
+ * @param <T>
+ *         the type of objects this parser yields
+ */
+public class SnapshotParser<T> extends HCParser<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotParser.class);
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private static final int SNAPSHOT_MAGIC = 0x48435331; // "HCS1"
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int HASH_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final Path cacheDir;
+
+    private final String schemaVersion;
+
+    private final SnapshotCodec<T> codec;
+
+    /**
+     * Creates a new {@code SnapshotParser} with the default configuration.
+     *
+     * @param rootReader
+     *         the reader to use to read the input into an object
+     * @param cacheDir
+     *         the directory where the snapshots are stored, created if necessary
+     * @param schemaVersion
+     *         an identifier of the readers and model, which must be changed when they change
+     * @param codec
+     *         the codec to use to write and read the snapshots
+     */
+    public SnapshotParser(@NotNull ObjectReader<T> rootReader, @NotNull Path cacheDir, @NotNull String schemaVersion,
+            @NotNull SnapshotCodec<T> codec) {
+        this(rootReader, new Config(), cacheDir, schemaVersion, codec);
+    }
+
+    /**
+     * Creates a new {@code SnapshotParser} with the given configuration.
+     *
+     * @param rootReader
+     *         the reader to use to read the input into an object
+     * @param config
+     *         the configuration defining this parser's behaviour
+     * @param cacheDir
+     *         the directory where the snapshots are stored, created if necessary
+     * @param schemaVersion
+     *         an identifier of the readers and model, which must be changed when they change
+     * @param codec
+     *         the codec to use to write and read the snapshots
+     */
+    public SnapshotParser(@NotNull ObjectReader<T> rootReader, Config config, @NotNull Path cacheDir,
+            @NotNull String schemaVersion, @NotNull SnapshotCodec<T> codec) {
+        super(rootReader, config);
+        this.cacheDir = cacheDir;
+        this.schemaVersion = schemaVersion;
+        this.codec = codec;
+    }
+
+    /**
+     * Loads the snapshot of the given file if it exists and is up to date, or parses the given file and writes a
+     * snapshot of the result otherwise.
+     *
+     * @param filename
+     *         the path to the file to parse
+     *
+     * @return the created object representing the input problem
+     * @throws FileNotFoundException
+     *         if the given file does not exist
+     * @throws InputParsingException
+     *         if an error occurs while reading or parsing the file
+     */
+    @Override
+    public T parseFile(String filename) throws FileNotFoundException {
+        String inputName = Paths.get(filename).getFileName().toString();
+        Path snapshot = cacheDir.resolve(inputName + "-" + computeKey(filename) + SNAPSHOT_EXTENSION);
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                return readSnapshot(snapshot);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable snapshot " + snapshot + ", parsing the input instead", e);
+            }
+        }
+        T result = super.parseFile(filename);
+        try {
+            writeSnapshot(snapshot, result);
+            deleteOutdatedSnapshots(inputName, snapshot);
+        } catch (IOException e) {
+            logger.warn("Could not write the snapshot " + snapshot, e);
+        }
+        return result;
+    }
+
+    private String computeKey(String filename) throws FileNotFoundException {
+        MessageDigest digest = sha256();
+        digest.update(schemaVersion.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r")) {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            for (long position = 0; position < size; position += HASH_CHUNK_SIZE) {
+                long chunkSize = Math.min(HASH_CHUNK_SIZE, size - position);
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize));
+            }
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InputParsingException("An error occurred while hashing the input file '" + filename + "'", e);
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is supported by all Java platforms", e);
+        }
+    }
+
+    private T readSnapshot(Path snapshot) throws IOException {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE))) {
+            if (input.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            return codec.read(input);
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, T result) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path tempFile = Files.createTempFile(cacheDir, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                codec.write(result, output);
+            }
+            // the snapshot appears atomically, so that a concurrent run never reads a partial snapshot
+            Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void deleteOutdatedSnapshots(String inputName, Path currentSnapshot) throws IOException {
+        // only the exact key length is matched, so that the snapshots of inputs prefixed by this name are kept
+        Pattern snapshotName = Pattern.compile(
+                Pattern.quote(inputName) + "-[0-9a-f]{64}" + Pattern.quote(SNAPSHOT_EXTENSION));
+        DirectoryStream.Filter<Path> filter = p -> snapshotName.matcher(p.getFileName().toString()).matches();
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(cacheDir, filter)) {
+            for (Path snapshot : snapshots) {
+                if (!snapshot.equals(currentSnapshot)) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.hildan.hashcode.utils.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntIntMapTest {
+
+    @Test
+    public void put_get() {
+        IntIntMap map = new IntIntMap(2);
+        map.put(0, 10);
+        map.put(-5, 20);
+        map.put(3, 30);
+        map.put(3, 31);
+        assertEquals(3, map.size());
+        assertEquals(10, map.get(0));
+        assertEquals(20, map.get(-5));
+        assertEquals(31, map.get(3));
+        assertEquals(-1, map.getOrDefault(4, -1));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_missingKey() {
+        new IntIntMap().get(1);
+    }
+
+    @Test
+    public void growsLikeHashMap() {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(5_000) - 100;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals((int) v, map.get(k)));
+        Map<Integer, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void intList() {
+        IntList list = new IntList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.set(0, -1);
+        assertEquals(100, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(4950 - 1, list.stream().sum());
+    }
+
+    @Test
+    public void intLongMap() {
+        IntLongMap map = new IntLongMap(1);
+        map.put(0, Long.MAX_VALUE);
+        map.put(12, -3L);
+        map.put(40, 1L << 40);
+        assertEquals(3, map.size());
+        assertEquals(Long.MAX_VALUE, map.get(0));
+        assertEquals(-3L, map.get(12));
+        assertEquals(1L << 40, map.get(40));
+        assertEquals(7L, map.getOrDefault(41, 7L));
+    }
+}
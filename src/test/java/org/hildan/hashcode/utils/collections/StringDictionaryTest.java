@@ -0,0 +1,41 @@
+package org.hildan.hashcode.utils.collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class StringDictionaryTest {
+
+    @Test
+    public void add_assignsDenseIds() {
+        StringDictionary dictionary = new StringDictionary(1);
+        assertEquals(0, dictionary.add("rue-de-londres"));
+        assertEquals(1, dictionary.add("rue-d-amsterdam"));
+        assertEquals(0, dictionary.add("rue-de-londres"));
+        assertEquals(2, dictionary.add(""));
+        assertEquals(3, dictionary.size());
+        assertEquals("rue-d-amsterdam", dictionary.get(1));
+        assertArrayEquals(new String[] {"rue-de-londres", "rue-d-amsterdam", ""}, dictionary.toArray());
+    }
+
+    @Test
+    public void find_inCharRange() {
+        StringDictionary dictionary = new StringDictionary();
+        dictionary.add("cheese");
+        assertEquals(0, dictionary.find("3 cheese tomato", 2, 8));
+        assertEquals(-1, dictionary.find("3 cheese tomato", 9, 15));
+        assertEquals(-1, dictionary.idOf("chees"));
+    }
+
+    @Test
+    public void growsWithManyTokens() {
+        StringDictionary dictionary = new StringDictionary(0);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.add("token" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.idOf("token" + i));
+        }
+    }
+}
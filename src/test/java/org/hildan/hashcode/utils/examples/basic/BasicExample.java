@@ -28,7 +28,7 @@ public class BasicExample {
 
         // reader using the fluent API
         return HCReader.withVars("P", "C") // reads the 2 first tokens into variables P and C
-                       .createFromVar(Problem::new, "C") // creates a new Problem using the value of C as parameter
+                       .createFromIntVar(Problem::new, "C") // creates a new Problem using the value of C as parameter
                        .thenList(Problem::setPoints, "P", pointReader); // reads P elements using the pointReader
     }
 }
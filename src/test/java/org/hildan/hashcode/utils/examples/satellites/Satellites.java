@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class Satellites {
 
@@ -33,20 +34,32 @@ public class Satellites {
             + "3300 3599\n";  // The images need to be taken in the last 5 minutes.
 
     private static ObjectReader<Simulation> simulationReader() {
-        return HCReader.createFromInt(Simulation::new)
+        return HCReader.createFromIntValue(Simulation::new)
                        .thenVar("S")
                        .thenArray(Simulation::setSatellites, Satellite[]::new, "S", satelliteReader())
                        .thenVar("C")
                        .thenArray(Simulation::setCollections, ImageCollection[]::new, "C", imgCollectionReader());
     }
 
+    private static ObjectReader<Simulation> collectionsOnlyReader() {
+        return HCReader.createFromIntValue(Simulation::new)
+                       .thenVar("S")
+                       .thenSkipLines("S")
+                       .thenVar("C")
+                       .thenArray(Simulation::setCollections, ImageCollection[]::new, "C",
+                               HCReader.withVars("V", "L", "R")
+                                       .createFromIntVar(ImageCollection::new, "V")
+                                       .thenArray(ImageCollection::setLocations, Location[]::new, "L", locationReader())
+                                       .thenSkipLines("R"));
+    }
+
     private static ObjectReader<Satellite> satelliteReader() {
         return HCReader.createFrom5Ints(Satellite::new);
     }
 
     private static ObjectReader<ImageCollection> imgCollectionReader() {
         return HCReader.withVars("V", "L", "R")
-                       .createFromVar(ImageCollection::new, "V")
+                       .createFromIntVar(ImageCollection::new, "V")
                        .thenArray(ImageCollection::setLocations, Location[]::new, "L", locationReader())
                        .thenArray(ImageCollection::setRanges, int[][]::new, "R", rangeReader());
     }
@@ -124,4 +137,18 @@ public class Satellites {
 
         assertArrayEquals(new int[] {3300, 3599}, coll2.ranges[0]);
     }
+
+    @Test
+    public void test_parserSkippingSections() {
+        HCParser<Simulation> parser = new HCParser<>(collectionsOnlyReader());
+        Simulation problem = parser.parse(input);
+
+        assertEquals(3600, problem.nTurns);
+        assertNull(problem.satellites);
+        assertEquals(3, problem.collections.length);
+        assertEquals(300, problem.collections[2].value);
+        assertEquals(2, problem.collections[2].locations.length);
+        assertArrayEquals(new int[] {175889, 8260}, problem.collections[2].locations[1].coords);
+        assertNull(problem.collections[2].ranges);
+    }
 }
@@ -1,10 +1,12 @@
 package org.hildan.hashcode.utils.examples.streaming;
 
 import org.hildan.hashcode.utils.examples.streaming.model.Endpoint;
+import org.hildan.hashcode.utils.examples.streaming.model.EndpointLatencies;
 import org.hildan.hashcode.utils.examples.streaming.model.Latency;
 import org.hildan.hashcode.utils.examples.streaming.model.RequestDesc;
 import org.hildan.hashcode.utils.examples.streaming.model.StreamingProblem;
 import org.hildan.hashcode.utils.parser.HCParser;
+import org.hildan.hashcode.utils.parser.config.Config;
 import org.hildan.hashcode.utils.parser.readers.HCReader;
 import org.hildan.hashcode.utils.parser.readers.ObjectReader;
 import org.junit.Test;
@@ -46,6 +48,14 @@ public class StreamingExample {
         return HCReader.create(Latency::new).thenFields("cacheId", "latency");
     }
 
+    private static ObjectReader<EndpointLatencies> endpointLatenciesReader() {
+        // the latencies are only looked up by cache ID, so they can be read straight into a primitive map
+        return HCReader.create(EndpointLatencies::new)
+                       .thenField("dcLatency")
+                       .thenVar("K")
+                       .thenIntIntMap((e, map) -> e.cacheLatencies = map, "K");
+    }
+
     private static ObjectReader<RequestDesc> requestReader() {
         return HCReader.create(RequestDesc::new).thenFields("videoId", "endpointId", "count");
     }
@@ -54,8 +64,29 @@ public class StreamingExample {
     public void test_parser() {
         ObjectReader<StreamingProblem> rootReader = streamingProblemReader();
         HCParser<StreamingProblem> parser = new HCParser<>(rootReader);
-        StreamingProblem problem = parser.parse(input);
+        assertParsedProblem(parser.parse(input));
+    }
+
+    @Test
+    public void test_compiledParser() {
+        ObjectReader<StreamingProblem> rootReader = streamingProblemReader();
+        HCParser<StreamingProblem> parser = new HCParser<>(rootReader, new Config().withCompiledReaders(true));
+        assertParsedProblem(parser.parse(input));
+    }
+
+    @Test
+    public void test_latenciesAsPrimitiveMap() {
+        HCParser<EndpointLatencies> parser = new HCParser<>(endpointLatenciesReader());
+        EndpointLatencies endpoint = parser.parse("1000 3\n0 100\n2 200\n1 300");
+
+        assertEquals(1000, endpoint.dcLatency);
+        assertEquals(3, endpoint.cacheLatencies.size());
+        assertEquals(100, endpoint.cacheLatencies.get(0));
+        assertEquals(200, endpoint.cacheLatencies.get(2));
+        assertEquals(300, endpoint.cacheLatencies.get(1));
+    }
 
+    private static void assertParsedProblem(StreamingProblem problem) {
         assertEquals(5, problem.nVideos);
         assertEquals(2, problem.nEndpoints);
         assertEquals(4, problem.nRequestDescriptions);
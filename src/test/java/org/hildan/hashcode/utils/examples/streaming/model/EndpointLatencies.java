@@ -0,0 +1,10 @@
+package org.hildan.hashcode.utils.examples.streaming.model;
+
+import org.hildan.hashcode.utils.collections.IntIntMap;
+
+public class EndpointLatencies {
+
+    public int dcLatency;
+
+    public IntIntMap cacheLatencies;
+}
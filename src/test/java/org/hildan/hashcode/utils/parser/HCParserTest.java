@@ -1,17 +1,29 @@
 package org.hildan.hashcode.utils.parser;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
+import org.hildan.hashcode.utils.parser.config.Separator;
+import org.hildan.hashcode.utils.parser.context.Context;
 import org.hildan.hashcode.utils.parser.readers.HCReader;
 import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class HCParserTest {
 
     private static final double DELTA = 0.0001;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private static final String CONTENT = //
             "42 24 2\n" //
                     + "first 3\n" //
@@ -97,4 +109,33 @@ public class HCParserTest {
         assertEquals(2.21, point11.x, DELTA);
         assertEquals(2.22, point11.y, DELTA);
     }
+
+    @Test
+    public void parse_sizedList() {
+        ObjectReader<Point> pointReader = HCReader.create(Point::new).thenFields("x", "y");
+
+        ObjectReader<Shape> shapeReader = HCReader.create(Shape::new)
+                                                  .thenFields("name", "nPoints")
+                                                  .thenSizedList((o, l) -> o.points = l, o -> o.nPoints, pointReader);
+
+        Shape shape = new HCParser<>(shapeReader).parse("square 2\n0.5 1.5\n2.5 3.5\n");
+
+        assertEquals("square", shape.name);
+        assertEquals(2, shape.points.size());
+        assertEquals(0.5, shape.points.get(0).x, DELTA);
+        assertEquals(1.5, shape.points.get(0).y, DELTA);
+        assertEquals(2.5, shape.points.get(1).x, DELTA);
+        assertEquals(3.5, shape.points.get(1).y, DELTA);
+    }
+
+    @Test
+    public void parseFile_nonAsciiSeparator() throws IOException {
+        File input = folder.newFile("input.in");
+        Files.write(input.toPath(), "\u00e9t\u00e9\u00a7hiver\u00a7\u00a7".getBytes(StandardCharsets.UTF_8));
+
+        ObjectReader<String[]> reader = Context::readLine;
+        String[] tokens = new HCParser<>(reader, Separator.literal('\u00a7')).parseFile(input.getPath());
+
+        assertArrayEquals(new String[] {"\u00e9t\u00e9", "hiver", "", ""}, tokens);
+    }
 }
@@ -0,0 +1,42 @@
+package org.hildan.hashcode.utils.parser.config;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SeparatorTest {
+
+    @Test
+    public void regex_detectsWhitespace() {
+        assertEquals(Separator.Type.WHITESPACE, Separator.regex("\\s").getType());
+        assertNull(Separator.regex("\\s").getPattern());
+    }
+
+    @Test
+    public void regex_detectsLiteralChars() {
+        Separator comma = Separator.regex(",");
+        assertEquals(Separator.Type.CHAR, comma.getType());
+        assertEquals(',', comma.getChar());
+
+        Separator pipe = Separator.regex("\\|");
+        assertEquals(Separator.Type.CHAR, pipe.getType());
+        assertEquals('|', pipe.getChar());
+    }
+
+    @Test
+    public void regex_keepsRealPatterns() {
+        Separator separator = Separator.regex("\\s+");
+        assertEquals(Separator.Type.REGEX, separator.getType());
+        assertNotNull(separator.getPattern());
+
+        assertEquals(Separator.Type.REGEX, Separator.regex(".").getType());
+        assertEquals(Separator.Type.REGEX, Separator.regex("\\d").getType());
+    }
+
+    @Test
+    public void literal_escapesRegex() {
+        assertEquals("a|b".split(Separator.literal('|').toRegex()).length, 2);
+    }
+}
@@ -0,0 +1,131 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ByteBufferLineNumberScannerTest {
+
+    private static final String input = "this is a test\r\n42 43 -44\n\rsomething\n";
+
+    private ByteBufferLineNumberScanner scanner;
+
+    private static ByteBufferLineNumberScanner scannerOf(String content, String delimiter) {
+        return new ByteBufferLineNumberScanner(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), delimiter);
+    }
+
+    @Before
+    public void setUp() {
+        scanner = scannerOf(input, "\\s");
+    }
+
+    @Test
+    public void getLineNumber() {
+        assertEquals(0, scanner.getLineNumber());
+        scanner.nextLine();
+        assertEquals(1, scanner.getLineNumber());
+        scanner.nextInt();
+        assertEquals(2, scanner.getLineNumber());
+        scanner.nextInt();
+        scanner.nextInt();
+        assertEquals(2, scanner.getLineNumber());
+        scanner.nextString();
+        assertEquals(4, scanner.getLineNumber());
+    }
+
+    @Test
+    public void getCurrentLine() {
+        assertNull(scanner.getCurrentLine());
+        assertEquals("this", scanner.nextString());
+        assertEquals("this is a test", scanner.getCurrentLine());
+        assertEquals("is", scanner.nextString());
+        assertEquals("a", scanner.nextString());
+        assertEquals("test", scanner.nextString());
+        assertEquals(42, scanner.nextInt());
+        assertEquals("42 43 -44", scanner.getCurrentLine());
+    }
+
+    @Test
+    public void nextLine() {
+        assertEquals("this is a test", scanner.nextLine());
+        assertEquals("42 43 -44", scanner.nextLine());
+        assertEquals("", scanner.nextLine());
+        assertEquals("something", scanner.nextLine());
+    }
+
+    @Test(expected = NoMoreLinesToReadException.class)
+    public void nextLine_failsWhenNoMoreLines() {
+        scanner.nextLine();
+        scanner.nextLine();
+        scanner.nextLine();
+        scanner.nextLine();
+        scanner.nextLine();
+    }
+
+    @Test
+    public void nextLine_lastLineWithoutTerminator() {
+        scanner = scannerOf("first\nlast", "\\s");
+        assertEquals("first", scanner.nextLine());
+        assertEquals("last", scanner.nextLine());
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void nextInt_failsOnStrings() {
+        scanner.nextInt();
+    }
+
+    @Test
+    public void nextLineTokens() {
+        assertArrayEquals(new String[] {"this", "is", "a", "test"}, scanner.nextLineTokens());
+        assertArrayEquals(new String[] {"42", "43", "-44"}, scanner.nextLineTokens());
+        assertArrayEquals(new String[0], scanner.nextLineTokens());
+        assertArrayEquals(new String[] {"something"}, scanner.nextLineTokens());
+    }
+
+    @Test
+    public void nextLineTokens_keepsEmptyTokens() {
+        scanner = scannerOf("42 abc  DEF \n", "\\s");
+        assertArrayEquals(new String[] {"42", "abc", "", "DEF", ""}, scanner.nextLineTokens());
+    }
+
+    @Test
+    public void nextLineTokens_regexDelimiter() {
+        scanner = scannerOf("a, b,c ,d\n", "\\s*,\\s*");
+        assertArrayEquals(new String[] {"a", "b", "c", "d"}, scanner.nextLineTokens());
+    }
+
+    @Test
+    public void nextString_decodesUtf8() {
+        scanner = scannerOf("caf\u00e9 \u00e0 la cr\u00e8me", "\\s");
+        assertEquals("caf\u00e9", scanner.nextString());
+        assertEquals("\u00e0", scanner.nextString());
+        assertEquals("la", scanner.nextString());
+        assertEquals("cr\u00e8me", scanner.nextString());
+    }
+
+    @Test(expected = IncompleteLineReadException.class)
+    public void nextLineTokens_failsOnIncompleteLineRead() {
+        assertEquals("this", scanner.nextString());
+        assertEquals("is", scanner.nextString());
+        scanner.nextLineTokens();
+    }
+
+    @Test(expected = IncompleteInputReadException.class)
+    public void close_failsOnUnconsumedInput() {
+        scanner.close();
+    }
+
+    @Test
+    public void close_ignoresBlankLines() {
+        scanner = scannerOf("42\n  \n\t\n", "\\s");
+        assertEquals(42, scanner.nextInt());
+        scanner.close();
+    }
+}
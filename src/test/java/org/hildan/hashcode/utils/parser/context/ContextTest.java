@@ -0,0 +1,234 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hildan.hashcode.utils.collections.BitGrid;
+import org.hildan.hashcode.utils.collections.CharGrid;
+import org.hildan.hashcode.utils.collections.StringDictionary;
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.config.TrailingInputCheck;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ContextTest {
+
+    @Test
+    public void getVariable_unknownNameDoesNotAllocateSlot() {
+        Context context = new Context(new StringReader(""), new Config());
+        int nbSlots = VariableSlot.count();
+        try {
+            context.getVariableAsInt("neverSetVariable");
+            fail("expected an undefined variable");
+        } catch (UndefinedVariableException e) {
+            assertEquals(nbSlots, VariableSlot.count());
+        }
+    }
+
+    @Test
+    public void variableSlot_sameNameSameSlot() {
+        assertSame(VariableSlot.of("sameSlot"), VariableSlot.of("sameSlot"));
+        assertEquals("sameSlot", VariableSlot.of("sameSlot").getName());
+    }
+
+    @Test
+    public void readIntoVariable_keepsOriginalStrings() {
+        Context context = new Context(new StringReader("42 -7 0 +5 007 -0 abc 123456789012345678901"), new Config());
+        String[] expected = {"42", "-7", "0", "+5", "007", "-0", "abc", "123456789012345678901"};
+        for (String value : expected) {
+            assertEquals(value, context.readIntoVariable("v"));
+            assertEquals(value, context.getVariable("v"));
+        }
+    }
+
+    @Test
+    public void getVariableAsInt_slotsAndNames() {
+        VariableSlot n = VariableSlot.of("n");
+        Context context = new Context(new StringReader("42 +5 3000000000"), new Config());
+        context.readIntoVariable(n);
+        assertEquals(42, context.getVariableAsInt(n));
+        assertEquals(42, context.getVariableAsInt("n"));
+        context.readIntoVariable(n);
+        assertEquals(5, context.getVariableAsInt(n));
+        context.readIntoVariable(n);
+        assertEquals(3000000000L, context.getVariableAsLong(n));
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void getVariableAsInt_failsOnIntOverflow() {
+        VariableSlot n = VariableSlot.of("n");
+        Context context = new Context(new StringReader("3000000000"), new Config());
+        context.readIntoVariable(n);
+        context.getVariableAsInt(n);
+    }
+
+    @Test
+    public void setVariable_overridesPreviousType() {
+        VariableSlot v = VariableSlot.of("v");
+        Context context = new Context(new StringReader(""), new Config());
+        context.setVariable(v, 12);
+        assertEquals("12", context.getVariable(v));
+        context.setVariable("v", "text");
+        assertEquals("text", context.getVariable(v));
+    }
+
+    @Test
+    public void setVariable_slotCreatedAfterContext() {
+        Context context = new Context(new StringReader(""), new Config());
+        VariableSlot late = VariableSlot.of("slotCreatedAfterContext");
+        context.setVariable(late, 3);
+        assertEquals(3, context.getVariableAsInt(late));
+    }
+
+    @Test(expected = UndefinedVariableException.class)
+    public void getVariable_failsOnUndefinedVariable() {
+        new Context(new StringReader(""), new Config()).getVariable(VariableSlot.of("undefinedVariable"));
+    }
+
+    @Test
+    public void skip_acrossLines() {
+        Context context = new Context(new StringReader("1 2\n3\n4 5 6"), new Config());
+        context.skip(4);
+        assertEquals(5, context.readInt());
+        context.skip(0);
+        assertEquals(6, context.readInt());
+    }
+
+    @Test
+    public void skipLines_bufferAndReader() {
+        String input = "1 2\nskipped line\n\nlast 3\n4";
+        Context[] contexts = {new Context(new StringReader(input), new Config()),
+                new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), new Config())};
+        for (Context context : contexts) {
+            context.skip(2);
+            context.skipLines(3);
+            assertEquals(4, context.readInt());
+            context.closeReader();
+        }
+    }
+
+    @Test(expected = IncompleteLineReadException.class)
+    public void skipLines_failsOnIncompleteLine() {
+        Context context = new Context(new StringReader("1 2\n3"), new Config());
+        context.readInt();
+        context.skipLines(1);
+    }
+
+    @Test(expected = NoMoreLinesToReadException.class)
+    public void skipLines_failsAtEndOfInput() {
+        new Context(new StringReader("1\n2"), new Config()).skipLines(3);
+    }
+
+    @Test
+    public void readGrids_bufferAndReader() {
+        String input = "3 4\nTMMT\nMTTM\r\nTTTT\n#..#\n.##.\n";
+        Context[] contexts = {new Context(new StringReader(input), new Config()),
+                new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), new Config())};
+        for (Context context : contexts) {
+            int rows = context.readInt();
+            int columns = context.readInt();
+            CharGrid chars = context.readCharGrid(rows, columns);
+            assertEquals(3, chars.getRows());
+            assertEquals(4, chars.getColumns());
+            assertEquals('M', chars.get(0, 1));
+            assertEquals('T', chars.get(1, 1));
+            assertEquals("TTTT", chars.rowToString(2));
+            assertEquals(8, chars.count('T'));
+
+            BitGrid bits = context.readBitGrid(2, 4, '#');
+            assertTrue(bits.get(0, 0));
+            assertFalse(bits.get(0, 1));
+            assertTrue(bits.get(1, 2));
+            assertEquals(4, bits.cardinality());
+            context.closeReader();
+        }
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void readCharGrid_failsOnWrongRowLength() {
+        new Context(new StringReader("abc\nab"), new Config()).readCharGrid(2, 3);
+    }
+
+    @Test
+    public void readTokenId_bufferAndReader() {
+        String input = "cheese tomato\ncr\u00e8me cheese\ncr\u00e8me";
+        Context[] contexts = {new Context(new StringReader(input), new Config()),
+                new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), new Config())};
+        for (Context context : contexts) {
+            StringDictionary dictionary = context.getDictionary("ingredients");
+            assertSame(dictionary, context.getDictionary("ingredients"));
+            int[] ids = new int[5];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = context.readTokenId(dictionary);
+            }
+            assertArrayEquals(new int[] {0, 1, 2, 0, 2}, ids);
+            assertArrayEquals(new String[] {"cheese", "tomato", "cr\u00e8me"}, dictionary.toArray());
+            context.closeReader();
+        }
+    }
+
+    @Test
+    public void readTokenId_nonAsciiBuffer() {
+        byte[] malformed = {(byte) 0xC3, '('};
+        byte[] valid = "\ud83c\udf45 \u20ac \ud83c\udf45 \u20ac ".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer input = ByteBuffer.allocate(valid.length + 2 * malformed.length + 1);
+        input.put(valid).put(malformed).put((byte) ' ').put(malformed).flip();
+        Context context = new Context(input, new Config());
+        StringDictionary dictionary = context.getDictionary("tokens");
+        int[] ids = new int[6];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = context.readTokenId(dictionary);
+        }
+        assertArrayEquals(new int[] {0, 1, 0, 1, 2, 2}, ids);
+        assertEquals("\ud83c\udf45", dictionary.get(0));
+        assertEquals("\u20ac", dictionary.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getDictionary_failsOnParallelChunks() {
+        Context context = new Context(ByteBuffer.wrap("a\nb\n".getBytes(StandardCharsets.UTF_8)), new Config());
+        Context[] chunks = context.splitNextLines(2, 1);
+        chunks[0].getDictionary("tokens");
+    }
+
+    private static Context[] contextsOf(String input, TrailingInputCheck check) {
+        Config config = new Config().withTrailingInputCheck(check);
+        return new Context[] {new Context(new StringReader(input), config),
+                new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), config)};
+    }
+
+    @Test
+    public void closeReader_trailingInputChecks() {
+        for (TrailingInputCheck check : TrailingInputCheck.values()) {
+            for (Context context : contextsOf("1\n \t\n\r\n  ", check)) {
+                context.readInt();
+                context.closeReader();
+            }
+        }
+        for (Context context : contextsOf("1\n2\n3", TrailingInputCheck.OFF)) {
+            context.readInt();
+            context.closeReader();
+        }
+    }
+
+    @Test
+    public void closeReader_cheapCheckFailsOnRemainingInput() {
+        for (Context context : contextsOf("1\n\n  x\n", TrailingInputCheck.CHEAP)) {
+            context.readInt();
+            try {
+                context.closeReader();
+                fail("the remaining input should have been detected");
+            } catch (IncompleteInputReadException e) {
+                assertEquals("The end of the input was not consumed", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FastDoubleParserTest {
+
+    private static void assertSameAsJdk(String s) {
+        long expected = Double.doubleToRawLongBits(Double.parseDouble(s));
+        long actual = Double.doubleToRawLongBits(FastDoubleParser.parseDouble(s));
+        assertEquals("wrong result for '" + s + "'", expected, actual);
+    }
+
+    @Test
+    public void parseDouble_edgeCases() {
+        String[] values = {"0", "-0", "+0", "0.0", "-0.0e10", "1", "-1", "1.", ".5", "1e3", "1E-3", "+1e+3", "0.1",
+                "0.3", "2.2250738585072014E-308", "2.2250738585072011E-308", "4.9e-324", "1e-320", "1e-400",
+                "1.7976931348623157e308", "1.7976931348623159e308", "1e309", "9007199254740993", "9007199254740992",
+                "9007199254740991", "18446744073709551615", "9999999999999999999", "12345678901234567890123",
+                "0.000000000000000000000000000000000123456789", "123456789012345678e-30", "7.3177701707893310e+15",
+                "1e23", "8.988465674311580536566680e307", "NaN", "-Infinity", "0x1p3", "1.5d", "1.5f", " 1.5",
+                "2.", "1e22", "1e-22", "9e22", "4503599627370496.5", "4503599627370497.5", "1e-5", "123.456e-7"};
+        for (String value : values) {
+            assertSameAsJdk(value);
+        }
+    }
+
+    @Test
+    public void parseDouble_randomShortestRepresentations() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(d)) {
+                assertSameAsJdk(Double.toString(d));
+            }
+        }
+    }
+
+    @Test
+    public void parseDouble_randomDecimals() {
+        Random random = new Random(24);
+        for (int i = 0; i < 200_000; i++) {
+            int nDigits = 1 + random.nextInt(19);
+            StringBuilder sb = new StringBuilder();
+            for (int d = 0; d < nDigits; d++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                sb.insert(random.nextInt(nDigits + 1), '.');
+            }
+            sb.append('e').append(random.nextInt(700) - 350);
+            assertSameAsJdk(sb.toString());
+        }
+    }
+
+    @Test
+    public void parseDouble_halfwayCases() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            // doubles with an exact decimal representation, and the values exactly halfway between consecutive ones
+            long mantissa = (1L << 53) + random.nextInt(1 << 20);
+            assertSameAsJdk(Long.toString(mantissa * 2 + 1));
+            assertSameAsJdk(Long.toString(mantissa) + ".5");
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parseDouble_failsLikeJdk() {
+        FastDoubleParser.parseDouble("1.2.3");
+    }
+
+    @Test
+    public void tryParse_range() {
+        assertEquals(12.5, FastDoubleParser.tryParse("x=12.5;", 2, 6), 0);
+        assertTrue(Double.isNaN(FastDoubleParser.tryParse("Infinity", 0, 8)));
+    }
+}
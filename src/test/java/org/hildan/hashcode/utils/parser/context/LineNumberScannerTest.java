@@ -5,6 +5,7 @@ import java.io.Reader;
 import java.io.StringReader;
 
 import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Separator;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +13,8 @@ import org.junit.Test;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class LineNumberScannerTest {
 
@@ -97,6 +100,35 @@ public class LineNumberScannerTest {
         scanner.nextInt();
     }
 
+    @Test
+    public void nextNumbers() {
+        scanner = new LineNumberScanner(new StringReader("+12 -2147483648 2147483647 9223372036854775807 -42\n"
+                + "1.5 -0 .25 3. 0.1 123456.789 1e3 1234567890.1234567 NaN -Infinity 0x1p3"), "\\s");
+        assertEquals(12, scanner.nextInt());
+        assertEquals(Integer.MIN_VALUE, scanner.nextInt());
+        assertEquals(Integer.MAX_VALUE, scanner.nextInt());
+        assertEquals(Long.MAX_VALUE, scanner.nextLong());
+        assertEquals(-42L, scanner.nextLong());
+        String[] doubles = {"1.5", "-0", ".25", "3.", "0.1", "123456.789", "1e3", "1234567890.1234567", "NaN",
+                "-Infinity", "0x1p3"};
+        for (String d : doubles) {
+            assertEquals(Double.doubleToRawLongBits(Double.parseDouble(d)),
+                    Double.doubleToRawLongBits(scanner.nextDouble()));
+        }
+    }
+
+    @Test
+    public void nextInt_failsOnOverflowWithSameMessage() {
+        scanner = new LineNumberScanner(new StringReader("2147483648"), "\\s");
+        try {
+            scanner.nextInt();
+            fail("expected exception on int overflow");
+        } catch (InputParsingException e) {
+            assertEquals("Line 1: \"expected int, got '2147483648'\"", e.getMessage());
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+    }
+
     @Test
     public void nextLineTokens() {
         assertArrayEquals(new String[]{"this", "is", "a", "test"}, scanner.nextLineTokens());
@@ -105,6 +137,35 @@ public class LineNumberScannerTest {
         assertArrayEquals(new String[]{"something"}, scanner.nextLineTokens());
     }
 
+    @Test
+    public void nextLine_handlesAllTerminatorsAndLongLines() {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longLine.append(i).append(' ');
+        }
+        scanner = new LineNumberScanner(new StringReader("a\r\nb\rc\n" + longLine + "\r\nlast"), "\\s");
+        assertEquals("a", scanner.nextLine());
+        assertEquals("b", scanner.nextLine());
+        assertEquals("c", scanner.nextLine());
+        assertEquals(longLine.toString(), scanner.nextLine());
+        assertEquals("last", scanner.nextLine());
+        assertEquals(5, scanner.getLineNumber());
+    }
+
+    @Test
+    public void nextLineTokens_separatorModes() {
+        String line = " 42,abc  DEF,\t1 \n";
+        assertArrayEquals(" 42,abc  DEF,\t1 ".split("\\s", -1), tokensOf(line, Separator.whitespace()));
+        assertArrayEquals(new String[] {"42,abc", "DEF,", "1"}, tokensOf(line, Separator.whitespaceRuns()));
+        assertArrayEquals(new String[] {" 42", "abc  DEF", "\t1 "}, tokensOf(line, Separator.literal(',')));
+        assertArrayEquals(new String[] {"", "42,abc", "DEF,", "1", ""}, tokensOf(line, Separator.regex("\\s+")));
+        assertArrayEquals(new String[0], tokensOf("  \t \n", Separator.whitespaceRuns()));
+    }
+
+    private static String[] tokensOf(String input, Separator separator) {
+        return new LineNumberScanner(new StringReader(input), separator).nextLineTokens();
+    }
+
     @Test(expected = IncompleteLineReadException.class)
     public void nextLineTokens_failsOnIncompleteLineRead() {
         assertEquals("this", scanner.nextString());
@@ -0,0 +1,155 @@
+package org.hildan.hashcode.utils.parser.context;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hildan.hashcode.utils.parser.HCParser;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReadAheadReaderTest {
+
+    private static String bigInput(int nbLines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < nbLines; i++) {
+            sb.append(i).append(' ').append(-i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[1000];
+        int n;
+        while ((n = reader.read(buffer, 0, buffer.length)) >= 0) {
+            sb.append(buffer, 0, n);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void read_sameContentAsSource() throws IOException {
+        String input = bigInput(50000);
+        try (Reader reader = new ReadAheadReader(new StringReader(input))) {
+            assertEquals(input, readFully(reader));
+            assertEquals(-1, reader.read(new char[10], 0, 10));
+        }
+    }
+
+    @Test
+    public void read_emptySource() throws IOException {
+        try (Reader reader = new ReadAheadReader(new StringReader(""))) {
+            assertEquals(-1, reader.read(new char[10], 0, 10));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void read_propagatesSourceErrors() throws IOException {
+        Reader failingSource = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("test error");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (Reader reader = new ReadAheadReader(failingSource)) {
+            readFully(reader);
+        }
+    }
+
+    @Test
+    public void context_withReadAhead() {
+        Context context = new Context(new StringReader(bigInput(20000)), new Config().withReadAhead(true));
+        for (int i = 0; i < 20000; i++) {
+            assertArrayEquals(new int[] {i, -i}, context.readIntArrayLine());
+        }
+        context.closeReader();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void read_propagatesSourceRuntimeExceptions() throws IOException {
+        Reader failingSource = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                throw new IllegalStateException("test error");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (Reader reader = new ReadAheadReader(failingSource)) {
+            readFully(reader);
+        }
+    }
+
+    @Test
+    public void parse_closesSourceOnError() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Reader source = new StringReader(bigInput(20000)) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+        ObjectReader<Integer> failingReader = ctx -> {
+            throw new IllegalArgumentException("test error");
+        };
+        HCParser<Integer> parser = new HCParser<>(failingReader, new Config().withReadAhead(true));
+        try {
+            parser.parse(source);
+            fail("expected the parse to fail");
+        } catch (IllegalArgumentException e) {
+            assertTrue(closed.get());
+        }
+    }
+
+    @Test
+    public void close_waitsForPendingSourceRead() throws IOException, InterruptedException {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        AtomicBoolean reading = new AtomicBoolean();
+        AtomicBoolean closedDuringRead = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+        Reader slowSource = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                reading.set(true);
+                readStarted.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                } finally {
+                    reading.set(false);
+                }
+                cbuf[off] = 'a';
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                closedDuringRead.set(reading.get());
+                closed.set(true);
+            }
+        };
+        Reader reader = new ReadAheadReader(slowSource);
+        readStarted.await();
+        reader.close();
+        assertTrue(closed.get());
+        assertFalse(closedDuringRead.get());
+    }
+}
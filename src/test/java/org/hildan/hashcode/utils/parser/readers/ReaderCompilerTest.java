@@ -0,0 +1,66 @@
+package org.hildan.hashcode.utils.parser.readers;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ReaderCompilerTest {
+
+    private static class Item {
+
+        int id;
+
+        String name;
+
+        List<Item> children;
+    }
+
+    private static ObjectReader<Item> itemReader() {
+        return HCReader.create(Item::new)
+                       .thenFieldsAndVars("id", "@N")
+                       .thenSkip(1)
+                       .thenString((item, name) -> item.name = name)
+                       .thenList((item, list) -> item.children = list, "N",
+                               HCReader.create(Item::new).thenField("id").thenVar("unused"));
+    }
+
+    @Test
+    public void compile_readsSameObjects() {
+        String input = "1 2 skipped root\n10 a\n11 b";
+        ObjectReader<Item> compiled = ReaderCompiler.compile(itemReader());
+        assertNotSame(CompiledObjectReader.class, itemReader().getClass());
+        assertSame(CompiledObjectReader.class, compiled.getClass());
+
+        Item expected = itemReader().read(new Context(new StringReader(input), new Config()));
+        Item actual = compiled.read(new Context(new StringReader(input), new Config()));
+        assertEquals(expected.id, actual.id);
+        assertEquals(expected.name, actual.name);
+        assertEquals(expected.children.size(), actual.children.size());
+        for (int i = 0; i < expected.children.size(); i++) {
+            assertEquals(expected.children.get(i).id, actual.children.get(i).id);
+        }
+    }
+
+    @Test
+    public void compile_setsFieldsAndVariables() {
+        ObjectReader<Item> reader = HCReader.create(Item::new).thenFieldsAndVars("id@N", "", "name");
+        Context context = new Context(new StringReader("42 skipped root"), new Config());
+        Item item = ReaderCompiler.compile(reader).read(context);
+        assertEquals(42, item.id);
+        assertEquals("root", item.name);
+        assertEquals(42, context.getVariableAsInt("N"));
+    }
+
+    @Test
+    public void compile_keepsOpaqueReaders() {
+        ObjectReader<String> reader = Context::readString;
+        assertSame(reader, ReaderCompiler.compile(reader));
+    }
+}
@@ -0,0 +1,64 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.HCReader;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ColumnarReaderTest {
+
+    @Test
+    public void read_mixedColumns() {
+        ColumnarReader<Object> reader = ColumnarReader.of((p, c) -> 2)
+                                                      .withIntColumn("id")
+                                                      .withLongColumn("big")
+                                                      .withDoubleColumn("ratio");
+        Context context = new Context(new StringReader("1 10000000000 0.5\n2 20000000000 1.5"), new Config());
+        ColumnTable table = reader.read(context, null);
+        assertEquals(2, table.size());
+        assertEquals(Arrays.asList("id", "big", "ratio"), table.getColumnNames());
+        assertEquals(ColumnType.LONG, table.getColumnType("big"));
+        assertArrayEquals(new int[] {1, 2}, table.getIntColumn("id"));
+        assertArrayEquals(new long[] {10000000000L, 20000000000L}, table.getLongColumn("big"));
+        assertArrayEquals(new double[] {0.5, 1.5}, table.getDoubleColumn("ratio"), 0);
+    }
+
+    @Test
+    public void thenIntColumns() {
+        ObjectReader<ColumnTable[]> reader = HCReader.withVars("R")
+                                                     .of(ctx -> new ColumnTable[1])
+                                                     .thenIntColumns((arr, t) -> arr[0] = t, "R", "video",
+                                                             "endpoint", "count");
+        Context context = new Context(new StringReader("3\n3 0 1500\n0 1 1000\n4 0 500\nend"), new Config());
+        ColumnTable table = reader.read(context)[0];
+        assertArrayEquals(new int[] {3, 0, 4}, table.getIntColumn("video"));
+        assertArrayEquals(new int[] {0, 1, 0}, table.getIntColumn("endpoint"));
+        assertArrayEquals(new int[] {1500, 1000, 500}, table.getIntColumn("count"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getColumn_wrongType() {
+        Context context = new Context(new StringReader("1"), new Config());
+        ColumnTable table = ColumnarReader.ofIntColumns((p, c) -> 1, "a").read(context, null);
+        table.getLongColumn("a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getColumn_unknownName() {
+        Context context = new Context(new StringReader("1"), new Config());
+        ColumnTable table = ColumnarReader.ofIntColumns((p, c) -> 1, "a").read(context, null);
+        table.getIntColumn("b");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withColumn_duplicateName() {
+        ColumnarReader.ofIntColumns((p, c) -> 1, "a", "a");
+    }
+}
@@ -0,0 +1,74 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.StringReader;
+
+import org.hildan.hashcode.utils.collections.IntIntMap;
+import org.hildan.hashcode.utils.collections.IntList;
+import org.hildan.hashcode.utils.collections.LongList;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ContainerReaderTest {
+
+    @Test
+    public void ofArray() {
+        ChildReader<String[], Object> reader = ContainerReader.ofSizedArray((p, c) -> 3, (c, p) -> c.readString(),
+                String[]::new);
+        Context context = new Context(new StringReader("a b\nc"), new Config());
+        assertArrayEquals(new String[] {"a", "b", "c"}, reader.read(context, null));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void ofArray_boxedSize() {
+        ChildReader<String[], Object> reader = ContainerReader.ofArray((p, c) -> 2, (c, p) -> c.readString(),
+                String[]::new);
+        Context context = new Context(new StringReader("a b"), new Config());
+        assertArrayEquals(new String[] {"a", "b"}, reader.read(context, null));
+    }
+
+    @Test(expected = ArrayStoreException.class)
+    public void ofArray_keepsArrayTypeChecks() {
+        ChildReader<Object[], Object> reader = ContainerReader.ofSizedArray((p, c) -> 1, (c, p) -> c.readString(),
+                size -> (Object[]) new Integer[size]);
+        reader.read(new Context(new StringReader("a"), new Config()), null);
+    }
+
+    @Test
+    public void ofPrimitiveArrays() {
+        Context context = new Context(new StringReader("3 1 2\n4 5\n1.5 2.5"), new Config());
+        int[] ints = ContainerReader.ofIntArray((p, c) -> 3, (c, p) -> c.readInt()).read(context, null);
+        long[] longs = ContainerReader.ofLongArray((p, c) -> 2, (c, p) -> c.readLong()).read(context, null);
+        double[] doubles = ContainerReader.ofDoubleArray((p, c) -> 2, (c, p) -> c.readDouble()).read(context, null);
+        assertArrayEquals(new int[] {3, 1, 2}, ints);
+        assertArrayEquals(new long[] {4, 5}, longs);
+        assertArrayEquals(new double[] {1.5, 2.5}, doubles, 0);
+    }
+
+    @Test
+    public void ofPrimitiveLists() {
+        Context context = new Context(new StringReader("3 1 2\n4 5"), new Config());
+        IntList ints = ContainerReader.ofIntList((p, c) -> 3, (c, p) -> c.readInt()).read(context, null);
+        LongList longs = ContainerReader.ofLongList((p, c) -> 2, (c, p) -> c.readLong()).read(context, null);
+        assertArrayEquals(new int[] {3, 1, 2}, ints.toArray());
+        assertArrayEquals(new long[] {4, 5}, longs.toArray());
+    }
+
+    @Test
+    public void ofIntIntMap() {
+        Context context = new Context(new StringReader("0 100\n7 200\n42 300"), new Config());
+        IntIntMap map = ContainerReader.ofIntIntMap((p, c) -> 3, (c, p) -> c.readInt(), (c, p) -> c.readInt())
+                                       .read(context, null);
+        assertEquals(3, map.size());
+        assertEquals(100, map.get(0));
+        assertEquals(200, map.get(7));
+        assertEquals(300, map.get(42));
+        assertFalse(map.containsKey(1));
+    }
+}
@@ -0,0 +1,69 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.StringReader;
+
+import org.hildan.hashcode.utils.collections.CsrGraph;
+import org.hildan.hashcode.utils.collections.IntList;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.HCReader;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.hildan.hashcode.utils.parser.readers.variable.VariableReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CsrReaderTest {
+
+    private static final String ENDPOINTS = "1000 3\n0 100\n2 200\n1 300\n500 0\n800 1\n1 50";
+
+    @Test
+    public void read_weighted() {
+        IntList dcLatencies = new IntList();
+        CsrReader<Object> reader = CsrReader.of((p, c) -> 3, (c, p) -> {
+            dcLatencies.add(c.readInt());
+            c.readIntoVariable("K");
+        }, (p, c) -> c.getVariableAsInt("K")).weighted();
+        CsrGraph graph = reader.read(new Context(new StringReader(ENDPOINTS), new Config()), null);
+
+        assertTrue(graph.isWeighted());
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(4, graph.getEdgeCount());
+        assertArrayEquals(new int[] {0, 3, 3, 4}, graph.getOffsets());
+        assertArrayEquals(new int[] {0, 2, 1, 1}, graph.getTargets());
+        assertArrayEquals(new int[] {100, 200, 300, 50}, graph.getWeights());
+        assertEquals(0, graph.degree(1));
+        assertEquals(3, graph.edgesStart(2));
+        assertEquals(1, graph.target(graph.edgesStart(2)));
+        assertEquals(50, graph.weight(graph.edgesStart(2)));
+        assertArrayEquals(new int[] {1000, 500, 800}, dcLatencies.toArray());
+    }
+
+    @Test
+    public void thenCsrGraph_unweighted() {
+        ObjectReader<CsrGraph[]> reader = HCReader.withVars("N")
+                                                  .of(ctx -> new CsrGraph[1])
+                                                  .thenCsrGraph((arr, g) -> arr[0] = g, "N", "K", false);
+        CsrGraph graph = reader.read(new Context(new StringReader("3\n2 1 2\n0\n1 0"), new Config()))[0];
+
+        assertFalse(graph.isWeighted());
+        assertNull(graph.getWeights());
+        assertArrayEquals(new int[] {0, 2, 2, 3}, graph.getOffsets());
+        assertArrayEquals(new int[] {1, 2, 0}, graph.getTargets());
+    }
+
+    @Test
+    public void thenCsrGraph_withNodeHeader() {
+        ObjectReader<CsrGraph[]> reader = HCReader.withVars("E")
+                                                  .of(ctx -> new CsrGraph[1])
+                                                  .thenCsrGraph((arr, g) -> arr[0] = g, "E",
+                                                          new VariableReader("dcLatency", "K").asSection(), "K", true);
+        CsrGraph graph = reader.read(new Context(new StringReader("3\n" + ENDPOINTS), new Config()))[0];
+        assertArrayEquals(new int[] {0, 3, 3, 4}, graph.getOffsets());
+        assertArrayEquals(new int[] {100, 200, 300, 50}, graph.getWeights());
+    }
+}
@@ -0,0 +1,82 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LazyListReaderTest {
+
+    private static final String INPUT = "4\n1 2\n3 4\n5 6\n7 8\nend";
+
+    private final AtomicInteger nbParsedItems = new AtomicInteger();
+
+    private static Context bufferContextOf(String input) {
+        return new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), new Config());
+    }
+
+    private ChildReader<List<int[]>, Object> pairsReader(int cacheSize) {
+        return ContainerReader.ofLazyList((p, c) -> c.readInt(), (c, p) -> {
+            nbParsedItems.incrementAndGet();
+            return new int[] {c.readInt(), c.readInt()};
+        }, 1, cacheSize);
+    }
+
+    @Test
+    public void read_parsesOnAccess() {
+        Context context = bufferContextOf(INPUT);
+        List<int[]> list = pairsReader(4).read(context, null);
+        assertEquals("end", context.readString());
+        assertEquals(4, list.size());
+        assertEquals(0, nbParsedItems.get());
+        assertArrayEquals(new int[] {5, 6}, list.get(2));
+        assertSame(list.get(2), list.get(2));
+        assertEquals(1, nbParsedItems.get());
+    }
+
+    @Test
+    public void read_boundedCache() {
+        List<int[]> list = pairsReader(1).read(bufferContextOf(INPUT), null);
+        int[] first = list.get(0);
+        assertSame(first, list.get(0));
+        list.get(1);
+        assertNotSame(first, list.get(0));
+        assertArrayEquals(new int[] {1, 2}, list.get(0));
+        assertEquals(3, nbParsedItems.get());
+    }
+
+    @Test
+    public void read_noCache() {
+        List<int[]> list = pairsReader(0).read(bufferContextOf(INPUT), null);
+        assertNotSame(list.get(3), list.get(3));
+        assertArrayEquals(new int[] {7, 8}, list.get(3));
+    }
+
+    @Test
+    public void read_eagerOnReaderInput() {
+        Context context = new Context(new StringReader(INPUT), new Config());
+        List<int[]> list = pairsReader(4).read(context, null);
+        assertEquals(4, nbParsedItems.get());
+        assertArrayEquals(new int[] {3, 4}, list.get(1));
+        assertEquals("end", context.readString());
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void get_failsOnIncompleteItem() {
+        ChildReader<List<Integer>, Object> reader = ContainerReader.ofLazyList((p, c) -> c.readInt(),
+                (c, p) -> c.readInt(), 1, 0);
+        reader.read(bufferContextOf("1\n1 2"), null).get(0);
+    }
+}
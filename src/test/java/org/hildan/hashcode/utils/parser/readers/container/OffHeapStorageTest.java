@@ -0,0 +1,70 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.line.LineReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStorageTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void assertBufferEquals(int[] expected, IntBuffer actual) {
+        assertEquals(expected.length, actual.limit());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual.get(i));
+        }
+    }
+
+    @Test
+    public void ofIntBuffer_direct() {
+        IntBuffer buffer = ContainerReader.ofIntBuffer((p, c) -> 4, (c, p) -> c.readInt(), OffHeapStorage.direct())
+                                          .read(new Context(new StringReader("3 1\n4 1"), new Config()), null);
+        assertTrue(buffer.isDirect());
+        assertBufferEquals(new int[] {3, 1, 4, 1}, buffer);
+    }
+
+    @Test
+    public void ofLongBuffer_mappedTempFile() throws IOException {
+        OffHeapStorage storage = OffHeapStorage.mappedTempFiles(folder.getRoot().toPath());
+        LongBuffer buffer = ContainerReader.ofLongBuffer((p, c) -> 2, (c, p) -> c.readLong(), storage)
+                                           .read(new Context(new StringReader("10000000000\n-5"), new Config()), null);
+        assertEquals(2, buffer.limit());
+        assertEquals(10000000000L, buffer.get(0));
+        assertEquals(-5L, buffer.get(1));
+        assertEquals(0, Files.list(folder.getRoot().toPath()).count());
+    }
+
+    @Test
+    public void lineReader_ofIntBuffer() {
+        Context context = new Context(new StringReader("5 -6 7\n8"), new Config());
+        IntBuffer buffer = LineReader.ofIntBuffer(OffHeapStorage.direct()).read(context);
+        assertBufferEquals(new int[] {5, -6, 7}, buffer);
+        assertEquals(8, context.readInt());
+    }
+
+    @Test
+    public void lineReader_ofLongBuffer() {
+        Context context = new Context(new StringReader("1 2"), new Config());
+        LongBuffer buffer = LineReader.ofLongBuffer(OffHeapStorage.direct()).read(context);
+        assertEquals(2, buffer.limit());
+        assertEquals(2L, buffer.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void allocate_tooBig() {
+        OffHeapStorage.direct().allocateLongs(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,89 @@
+package org.hildan.hashcode.utils.parser.readers.container;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.ChildReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelArrayReaderTest {
+
+    private static final int NB_ITEMS = 5000;
+
+    private static String pairsInput(int nbItems) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < nbItems; i++) {
+            sb.append(i).append(' ').append(i * 2).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static Context bufferContextOf(String input) {
+        return new Context(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), new Config());
+    }
+
+    private static ChildReader<int[][], Object> pairsReader(int linesPerItem) {
+        return new ParallelArrayReader<>((p, c) -> c.readInt(), (c, p) -> new int[] {c.readInt(), c.readInt()},
+                int[][]::new, linesPerItem, 100);
+    }
+
+    private static int[][] expectedPairs(int nbItems) {
+        int[][] expected = new int[nbItems][];
+        for (int i = 0; i < nbItems; i++) {
+            expected[i] = new int[] {i, i * 2};
+        }
+        return expected;
+    }
+
+    @Test
+    public void read_splitsBufferInput() {
+        Context context = bufferContextOf(NB_ITEMS + "\n" + pairsInput(NB_ITEMS) + "end");
+        assertArrayEquals(expectedPairs(NB_ITEMS), pairsReader(1).read(context, null));
+        assertEquals("end", context.readString());
+        context.closeReader();
+    }
+
+    @Test
+    public void read_sequentialOnReaderInput() {
+        Context context = new Context(new StringReader(NB_ITEMS + "\n" + pairsInput(NB_ITEMS)), new Config());
+        assertArrayEquals(expectedPairs(NB_ITEMS), pairsReader(1).read(context, null));
+        context.closeReader();
+    }
+
+    @Test
+    public void read_copiesVariablesBackFromLastChunk() {
+        ChildReader<String[], Object> reader = new ParallelArrayReader<>((p, c) -> c.getVariableAsInt("N"),
+                (c, p) -> c.readIntoVariable("last"), String[]::new, 1, 100);
+        Context context = bufferContextOf(pairsInput(1000).replace(' ', '\n'));
+        context.setVariable("N", "2000");
+        String[] values = reader.read(context, null);
+        assertEquals("999", values[1998]);
+        assertEquals("1998", values[1999]);
+        assertEquals("1998", context.getVariable("last"));
+    }
+
+    @Test
+    public void read_reportsFirstErrorWithGlobalLineNumber() {
+        String input = NB_ITEMS + "\n" + pairsInput(NB_ITEMS).replace("\n3000 ", "\nabc ").replace("\n4000 ", "\nx ");
+        try {
+            pairsReader(1).read(bufferContextOf(input), null);
+            fail("Expected an exception for the invalid int");
+        } catch (InputParsingException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 3002:"));
+        }
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void read_failsOnWrongLineCount() {
+        pairsReader(2).read(bufferContextOf(NB_ITEMS / 2 + "\n" + pairsInput(NB_ITEMS)), null);
+    }
+}
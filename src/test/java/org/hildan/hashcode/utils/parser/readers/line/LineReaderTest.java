@@ -4,15 +4,22 @@ import java.io.StringReader;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
+import org.hildan.hashcode.utils.parser.InputParsingException;
 import org.hildan.hashcode.utils.parser.config.Config;
 import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.LineView;
 import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Test;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(Theories.class)
 public class LineReaderTest {
@@ -69,4 +76,56 @@ public class LineReaderTest {
         assertArrayEquals(expectation.expectedOutput, array);
         assertArrayEquals(new String[]{"ignored", "line"}, context.readLine());
     }
+
+    @Test
+    public void ofPrimitiveArrays() {
+        Context context = new Context(new StringReader("42 -10 23\n9223372036854775807 0\n1.5 -2 1e3\n\n"),
+                new Config());
+        assertArrayEquals(new int[] {42, -10, 23}, LineReader.ofIntArray().read(context));
+        assertArrayEquals(new long[] {Long.MAX_VALUE, 0}, LineReader.ofLongArray().read(context));
+        assertArrayEquals(new double[] {1.5, -2, 1000}, LineReader.ofDoubleArray().read(context), 0);
+        assertArrayEquals(new int[0], LineReader.ofIntArray().read(context));
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void ofIntArray_failsOnInvalidInt() {
+        Context context = new Context(new StringReader("42 abc 23"), new Config());
+        LineReader.ofIntArray().read(context);
+    }
+
+    @Test
+    public void ofView() {
+        Context context = new Context(new StringReader("v42 3 10000000000 0.25\nv7 1 2 3.5"), new Config());
+        ObjectReader<String> reader = LineReader.ofView(line -> {
+            assertEquals(4, line.tokenCount());
+            assertTrue(line.tokenAt(0).charAt(0) == 'v');
+            return line.tokenAt(0).subSequence(1, line.tokenAt(0).length()) + ":" + (line.intAt(1) + line.longAt(2))
+                    + ":" + line.doubleAt(3);
+        });
+        assertEquals("42:10000000003:0.25", reader.read(context));
+        assertEquals("7:3:3.5", reader.read(context));
+    }
+
+    @Test
+    public void ofView_reusesViewAndRejectsStaleUse() {
+        Context context = new Context(new StringReader("a b\nc"), new Config());
+        LineView first = context.readLineView();
+        CharSequence token = first.tokenAt(1);
+        assertEquals("b", token.toString());
+        LineView second = context.readLineView();
+        assertSame(first, second);
+        assertEquals("c", second.stringAt(0));
+        try {
+            token.charAt(0);
+            fail("a token of a previous line should not be readable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void ofChildView_failsOnInvalidInt() {
+        Context context = new Context(new StringReader("42 abc"), new Config());
+        LineReader.ofChildView((line, parent) -> line.intAt(1)).read(context, null);
+    }
 }
@@ -0,0 +1,59 @@
+package org.hildan.hashcode.utils.parser.readers.section;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.readers.HCReader;
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SectionReaderTest {
+
+    private static final String INPUT = "3\n0 10\n2 5\n0 7\nend";
+
+    private static class Request {
+
+        int video;
+
+        int count;
+    }
+
+    private static class Totals {
+
+        long[] countsPerVideo = new long[3];
+    }
+
+    @Test
+    public void thenEach_itemReader() {
+        ObjectReader<Totals> reader = HCReader.create(Totals::new)
+                                              .thenVar("N")
+                                              .thenEach("N", (ctx, parent) -> new int[] {ctx.readInt(), ctx.readInt()},
+                                                      (Totals t, int[] r) -> t.countsPerVideo[r[0]] += r[1]);
+        Context context = new Context(new StringReader(INPUT), new Config());
+        assertArrayEquals(new long[] {17, 0, 5}, reader.read(context).countsPerVideo);
+        assertEquals("end", context.readString());
+    }
+
+    @Test
+    public void thenEach_flyweight() {
+        Set<Request> instances = new HashSet<>();
+        ObjectReader<Totals> reader = HCReader.create(Totals::new).thenVar("N").thenEach("N", Request::new,
+                (ctx, r) -> {
+                    r.video = ctx.readInt();
+                    r.count = ctx.readInt();
+                }, (Totals t, Request r) -> {
+                    instances.add(r);
+                    t.countsPerVideo[r.video] += r.count;
+                });
+        Context context = new Context(new StringReader(INPUT), new Config());
+        assertArrayEquals(new long[] {17, 0, 5}, reader.read(context).countsPerVideo);
+        assertEquals(1, instances.size());
+        assertEquals("end", context.readString());
+    }
+}
@@ -0,0 +1,102 @@
+package org.hildan.hashcode.utils.parser.reflect;
+
+import java.io.StringReader;
+
+import org.hildan.hashcode.utils.parser.InputParsingException;
+import org.hildan.hashcode.utils.parser.config.Config;
+import org.hildan.hashcode.utils.parser.context.Context;
+import org.hildan.hashcode.utils.parser.context.VariableSlot;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FieldSetterTest {
+
+    private static class Target {
+
+        private int intField;
+
+        private long longField;
+
+        private double doubleField;
+
+        private String stringField;
+
+        private boolean booleanField;
+
+        private Integer wrapperField;
+
+        private final int finalField = 0;
+    }
+
+    @Test
+    public void readAndSet_allTypes() {
+        Context context = new Context(new StringReader("42 9223372036854775807 1.5 abc true 24 12"), new Config());
+        Target target = new Target();
+        FieldSetter.of(Target.class, "intField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "longField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "doubleField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "stringField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "booleanField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "wrapperField").readAndSet(context, target);
+        FieldSetter.of(Target.class, "finalField").readAndSet(context, target);
+
+        assertEquals(42, target.intField);
+        assertEquals(Long.MAX_VALUE, target.longField);
+        assertEquals(1.5, target.doubleField, 0);
+        assertEquals("abc", target.stringField);
+        assertTrue(target.booleanField);
+        assertEquals(Integer.valueOf(24), target.wrapperField);
+    }
+
+    @Test
+    public void setFromString() {
+        Target target = new Target();
+        FieldSetter.of(Target.class, "intField").setFromString(target, "12");
+        FieldSetter.of(Target.class, "doubleField").setFromString(target, "2.5");
+        assertEquals(12, target.intField);
+        assertEquals(2.5, target.doubleField, 0);
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void of_failsOnUnknownField() {
+        FieldSetter.of(Target.class, "unknown");
+    }
+
+    @Test(expected = InputParsingException.class)
+    public void setFromString_failsOnTypeMismatch() {
+        FieldSetter.of(Target.class, "intField").setFromString(new Target(), "abc");
+    }
+
+    @Test
+    public void readAndSet_reportsFieldOnTypeMismatch() {
+        Context context = new Context(new StringReader("abc"), new Config());
+        try {
+            FieldSetter.of(Target.class, "longField").readAndSet(context, new Target());
+            fail("expected a type mismatch");
+        } catch (InputParsingException e) {
+            assertTrue(e.getMessage().contains("field 'longField' of type long"));
+        }
+    }
+
+    @Test
+    public void setFromVariable_reportsFieldOnTypeMismatch() {
+        Context context = new Context(new StringReader("abc 2147483648"), new Config());
+        context.readIntoVariable(VariableSlot.of("str"));
+        context.readIntoVariable(VariableSlot.of("big"));
+        assertSetFromVariableMismatch(context, "str", "longField", "'abc' to field 'longField' of type long");
+        assertSetFromVariableMismatch(context, "big", "intField", "'2147483648' to field 'intField' of type int");
+    }
+
+    private static void assertSetFromVariableMismatch(Context context, String variable, String field,
+                                                      String expectedMessagePart) {
+        try {
+            FieldSetter.of(Target.class, field).setFromVariable(context, VariableSlot.of(variable), new Target());
+            fail("expected a type mismatch");
+        } catch (InputParsingException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedMessagePart));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.hildan.hashcode.utils.parser.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hildan.hashcode.utils.parser.readers.ObjectReader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SnapshotParserTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger nbParses = new AtomicInteger();
+
+    private Path cacheDir;
+
+    private File input;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = folder.getRoot().toPath().resolve("cache");
+        input = folder.newFile("input.in");
+    }
+
+    private SnapshotParser<int[]> createParser(String schemaVersion) {
+        ObjectReader<int[]> reader = ctx -> {
+            nbParses.incrementAndGet();
+            int[] values = new int[ctx.readInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ctx.readInt();
+            }
+            return values;
+        };
+        return new SnapshotParser<>(reader, cacheDir, schemaVersion, SnapshotCodec.serializable());
+    }
+
+    private void writeInput(String content) throws IOException {
+        Files.write(input.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long countSnapshots() throws IOException {
+        return Files.list(cacheDir).count();
+    }
+
+    @Test
+    public void parseFile_loadsSnapshotOnSecondParse() throws IOException {
+        writeInput("3\n1 2 3\n");
+        assertArrayEquals(new int[] {1, 2, 3}, createParser("v1").parseFile(input.getPath()));
+        assertArrayEquals(new int[] {1, 2, 3}, createParser("v1").parseFile(input.getPath()));
+        assertEquals(1, nbParses.get());
+        assertEquals(1, countSnapshots());
+    }
+
+    @Test
+    public void parseFile_reparsesModifiedInput() throws IOException {
+        writeInput("3\n1 2 3\n");
+        createParser("v1").parseFile(input.getPath());
+        writeInput("2\n4 5\n");
+        assertArrayEquals(new int[] {4, 5}, createParser("v1").parseFile(input.getPath()));
+        assertEquals(2, nbParses.get());
+        assertEquals(1, countSnapshots());
+    }
+
+    @Test
+    public void parseFile_reparsesWithNewSchemaVersion() throws IOException {
+        writeInput("3\n1 2 3\n");
+        createParser("v1").parseFile(input.getPath());
+        createParser("v2").parseFile(input.getPath());
+        assertEquals(2, nbParses.get());
+    }
+
+    @Test
+    public void parseFile_reparsesCorruptedSnapshot() throws IOException {
+        writeInput("3\n1 2 3\n");
+        createParser("v1").parseFile(input.getPath());
+        Path snapshot = Files.list(cacheDir).findFirst().orElseThrow(IllegalStateException::new);
+        Files.write(snapshot, new byte[] {1, 2, 3});
+        assertArrayEquals(new int[] {1, 2, 3}, createParser("v1").parseFile(input.getPath()));
+        assertEquals(2, nbParses.get());
+        assertArrayEquals(new int[] {1, 2, 3}, createParser("v1").parseFile(input.getPath()));
+        assertEquals(2, nbParses.get());
+    }
+
+    @Test
+    public void parseFile_keepsSnapshotsOfInputsWithSamePrefix() throws IOException {
+        writeInput("3\n1 2 3\n");
+        File otherInput = folder.newFile("input.in-other");
+        Files.write(otherInput.toPath(), "1\n4\n".getBytes(StandardCharsets.UTF_8));
+        createParser("v1").parseFile(otherInput.getPath());
+        createParser("v1").parseFile(input.getPath());
+        assertArrayEquals(new int[] {4}, createParser("v1").parseFile(otherInput.getPath()));
+        assertEquals(2, nbParses.get());
+        assertEquals(2, countSnapshots());
+    }
+}